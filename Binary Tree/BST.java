@@ -1,204 +1,408 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.ObjIntConsumer;
 
-class Node<E extends Comparable<E>> implements Comparable<E> {
-	public E data;
-	public Node<E> leftChild, rightChild, parent;
-	
-	public Node() {
-		this(null, null, null, null);
-	}
+public class BST<E> implements MyTree<E> {
+	private Node<E> topRoot;
+	private Comparator<? super E> comparator; //null means the values' natural ordering
+	private double size; //number of nodes in the tree (number of values, counting duplicates, if countDuplicates is set) 
+						//using a double means that we don't have undefined behavior until the 
+						// size reaches 2^63, instead of 2^31 if we used an int
+	private boolean countDuplicates; //if true, this tree is a multiset
 	
-	public Node(E data) {
-		this(data, null, null, null);
+	/** Constructs an empty Binary Search Tree. An empty tree is one where the 
+	*	root Node is null. 
+	*   Running time: O(1)
+	*/
+	public BST() {
+		this(null, false);
 	}
 	
-	public Node(E data, Node<E> leftChild, Node<E> rightChild, Node<E> parent) {
-		this.data = data;
-		this.leftChild = leftChild;
-		this.rightChild = rightChild;
-		this.parent = parent;
+	/** Constructs an empty Binary Search Tree sorted by the given comparator instead of the values' 
+	*   natural ordering. This is how you plug in a cheaper ordering than compareTo, or store values that 
+	*   aren't Comparable at all. 
+	*   Running time: O(1)
+	*   @param comparator the ordering to use, or null for the natural ordering 
+	*/
+	public BST(Comparator<? super E> comparator) {
+		this(comparator, false);
 	}
 	
-	public boolean hasLeft() {
-		return this.leftChild != null;
+	/** Constructs an empty Binary Search Tree that may count duplicates. If countDuplicates is true, adding 
+	*   a value that's already there doesn't throw- it just bumps that node's count, and deleting the value 
+	*   takes one copy away. size() counts every copy. The traversals, rank() and select() still see each 
+	*   value once. 
+	*   Running time: O(1)
+	*   @param countDuplicates true to make this tree a multiset 
+	*/
+	public BST(boolean countDuplicates) {
+		this(null, countDuplicates);
 	}
 	
-	public boolean hasRight() {
-		return this.rightChild != null;
+	/** Constructs an empty Binary Search Tree with the given ordering that may count duplicates. See the 
+	*   two constructors above. 
+	*   Running time: O(1)
+	*   @param comparator the ordering to use, or null for the natural ordering 
+	*   @param countDuplicates true to make this tree a multiset 
+	*/
+	public BST(Comparator<? super E> comparator, boolean countDuplicates) {
+		this.topRoot = null;
+		this.size = 0;
+		this.comparator = comparator;
+		this.countDuplicates = countDuplicates;
 	}
 	
-	public boolean isLeaf() {
-		return this.rightChild == null && this.leftChild == null;
+	/** Constructs a Binary Search Tree with a root node containing the given data. 
+	*   Running time: O(1)
+	*/
+	public BST(E data) {
+		this.comparator = null;
+		this.topRoot = new Node<E>(data);
+		this.topRoot.red = false; //the root of a red-black tree is always black 
+		this.size++;
 	}
 	
-	public boolean isRoot() {
-		return this.parent == null;
+	/** Builds a tree out of an array that is already sorted in ascending order, without any duplicates. 
+	*   See fromSorted(Iterator<E>, int).
+	*   Running time: O(n)
+	*   @param sorted the values, in ascending order 
+	*   @return a balanced tree holding those values 
+	*   @exception IllegalArgumentException if the values aren't strictly increasing 
+	*/
+	public static <E extends Comparable<E>> BST<E> fromSorted(E[] sorted) {
+		return fromSorted(Arrays.asList(sorted).iterator(), sorted.length, null);
 	}
 	
-	public boolean isLeftChild() {
-		if (!this.isRoot()) { //if a node is a root. a call on this.parent.data throws null pointer exception
-			return this.data.compareTo(this.parent.data) < 0;	
-		} else {
-			return false;
-		}
+	/** Same as fromSorted(E[]), but for values sorted by the given comparator. 
+	*   Running time: O(n)
+	*/
+	public static <E> BST<E> fromSorted(E[] sorted, Comparator<? super E> comparator) {
+		return fromSorted(Arrays.asList(sorted).iterator(), sorted.length, comparator);
 	}
 	
-	public boolean isRightChild() {
-		if (!this.isRoot()) {
-			return this.data.compareTo(this.parent.data) > 0;
-		} else {
-			return false;
+	/** Builds a tree out of the values an iterator hands out, which have to be in strictly ascending order. 
+	*   Since we don't know how many there are, they get copied into a list first. If you know the count, 
+	*   use fromSorted(Iterator<E>, int), which doesn't need the copy. 
+	*   Running time: O(n)
+	*   @param sorted iterator over the values, in ascending order 
+	*   @return a balanced tree holding those values 
+	*   @exception IllegalArgumentException if the values aren't strictly increasing 
+	*/
+	public static <E extends Comparable<E>> BST<E> fromSorted(Iterator<E> sorted) {
+		ArrayList<E> values = new ArrayList<E>();
+		while (sorted.hasNext()) {
+			values.add(sorted.next());
 		}
+		return fromSorted(values.iterator(), values.size(), null);
 	}
 	
-	public boolean hasParent() {
-		return this.parent != null;
+	/** Builds a tree out of the first count values an iterator hands out, which have to be in strictly 
+	*   ascending order. Calling add() n times would cost O(n log(n)) in comparisons and rotations. Since the 
+	*   values are already sorted we can skip all that: the middle value becomes the root, the values before 
+	*   it become the left subtree and the ones after it the right subtree, and so on down. The nodes are 
+	*   created in order as the values come in, so nothing but the nodes themselves is allocated. The result 
+	*   is as short as a binary tree with n nodes can be. Every level is full except maybe the last one, 
+	*   which gets colored red so that it is also a valid red-black tree. 
+	*   Running time: O(n)
+	*   @param sorted iterator over the values, in ascending order 
+	*   @param count how many values to take from the iterator 
+	*   @return a balanced tree holding those values 
+	*   @exception IllegalArgumentException if the values aren't strictly increasing, or count < 0 
+	*   @exception NoSuchElementException if the iterator runs out before count values 
+	*/
+	public static <E extends Comparable<E>> BST<E> fromSorted(Iterator<E> sorted, int count) {
+		return fromSorted(sorted, count, null);
 	}
 	
-	public boolean isInternalNode() {
-		return this.leftChild != null || this.rightChild != null;
+	/** Same as fromSorted(Iterator<E>, int), but for values sorted by the given comparator. The tree 
+	*   that comes back uses that comparator. 
+	*   Running time: O(n)
+	*   @param comparator the ordering the values are in, or null for their natural ordering 
+	*/
+	public static <E> BST<E> fromSorted(Iterator<E> sorted, int count, Comparator<? super E> comparator) {
+		return fromSorted(sorted, count, comparator, null);
 	}
 	
-	public boolean isExternalNode() {
-		return !this.isInternalNode();
+	/** Same as above, but if counts isn't null the tree counts duplicates, and counts is asked for how many 
+	*   times each value is there right after that value is taken from the iterator. BSTSnapshot uses this 
+	*   to load a multiset without adding every copy one at a time. 
+	*   Running time: O(n)
+	*   @exception IllegalArgumentException if a count is less than 1 
+	*/
+	static <E> BST<E> fromSorted(Iterator<E> sorted, int count, Comparator<? super E> comparator, IntSupplier counts) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Error: count can't be negative");
+		}
+		BST<E> tree = new BST<E>(comparator, counts != null);
+		//every level above this one is completely full. Nodes on this level (if any) are red 
+		int redLevel = 31 - Integer.numberOfLeadingZeros(count + 1);
+		SortedBuilder<E> builder = new SortedBuilder<E>(tree, sorted, counts, redLevel);
+		tree.topRoot = builder.build(count, 0, null);
+		tree.size = builder.total;
+		return tree;
 	}
 	
-	/** This method returns the depth of a Node v, where the depth is the number of edges along the path
-	*   from the node to the root. Running time: O(n) in a worst case, but I think it should be less
-	*   because this tree is balanced. O(n) would happen in a linked-list-turned-on-its-side tree 
+	/** Helper for fromSorted. It's a class rather than a method so it can remember the last value it took 
+	*   from the iterator, to make sure the values really are sorted. 
 	*/
-	public int depth() {
-		return depth(this);
+	private static class SortedBuilder<E> {
+		private BST<E> tree; //the tree being built, for its comparator 
+		private Iterator<E> values;
+		private IntSupplier counts; //null unless the tree counts duplicates 
+		private int redLevel;
+		private E previous;
+		public double total; //number of values taken so far, counting duplicates 
+		
+		public SortedBuilder(BST<E> tree, Iterator<E> values, IntSupplier counts, int redLevel) {
+			this.tree = tree;
+			this.values = values;
+			this.counts = counts;
+			this.redLevel = redLevel;
+			this.previous = null;
+			this.total = 0;
+		}
+		
+		//Builds a subtree out of the next count values, at the given depth under parent. The recursion 
+		//only goes log(n) levels deep, since count is halved every time
+		public Node<E> build(int count, int depth, Node<E> parent) {
+			if (count == 0) {
+				return null;
+			}
+			int leftCount = (count - 1) / 2;
+			Node<E> root = new Node<E>(null, null, null, parent);
+			root.leftChild = build(leftCount, depth + 1, root);
+			root.data = values.next();
+			if (previous != null && tree.compare(previous, root.data) >= 0) {
+				throw new IllegalArgumentException("Error: values must be in strictly ascending order");
+			}
+			previous = root.data;
+			if (counts != null) {
+				root.count = counts.getAsInt();
+				if (root.count < 1) {
+					throw new IllegalArgumentException("Error: a value has to be there at least once");
+				}
+			}
+			total += root.count;
+			root.rightChild = build(count - leftCount - 1, depth + 1, root);
+			root.red = depth == redLevel;
+			root.subtreeSize = count;
+			return root;
+		}
 	}
 	
-	private int depth(Node<E> v) {
-		if (v.isRoot()) {
-			return 0;
+	public Node<E> getTopRoot() {
+		if (this.isEmpty()) {
+			throw new NoSuchElementException("Error: Tree is empty");
 		} else {
-			return 1 + depth(v.parent);
+			return this.topRoot;
 		}
 	}
 	
-	//again if this.parent is public, not really necessary
-	//but I guess at least it does some error-checking
-	public Node<E> getParent() {
-		if (!this.isRoot()) {
-			return this.parent;
-		} else {
-			throw new NoSuchElementException("Error: This node has no parent. It is the root");
+	/** Adds a node with the given value to the binary tree, maintaining the binary search tree 
+	*   property. After the node is linked in, the tree is recolored and rotated so that it stays 
+	*   a red-black tree: the root is black, a red node never has a red child, and every path from a 
+	*   node down to a null child passes through the same number of black nodes. Together those rules 
+	*   mean the height is never more than 2*log(n + 1), even when values are added in sorted order.
+	*   Running time: O(log(n)). 
+	*   @exception ElementAlreadyThereException if the value is already there and this tree doesn't count duplicates 
+	*/
+	public void add(E value) throws ElementAlreadyThereException {
+		if (!tryAdd(value)) {
+			//throw exception- we're not allowing duplicates
+			throw new ElementAlreadyThereException(value);
 		}
 	}
 	
-	/** This method returns the node that would come after this node if the nodes were listed by their 
-	*   values in ascending order.  Running time: O(log(n)), where n is the number of nodes. In a balanced tree,
-	*	the number of parents a Node can have is at most height - 1, and the height is proportional to the log of the 
-	*   number of nodes. Returns null if this Node has no successor. 
+	/** Same as add(), except that a duplicate makes it return false instead of throwing. When lots of 
+	*   the values being added are duplicates, this is much cheaper, since building an exception means 
+	*   walking the whole call stack. 
+	*   Running time: O(log(n))
+	*   @param value the value to add 
+	*   @return true if the value was added (or counted again, if this tree counts duplicates), false if 
+	*   it was already there 
 	*/
-	public Node<E> successor() {
-		if (this.rightChild != null) {
-			return findMin(this.rightChild);
-		} else {
-			Node<E> w = this.parent;
-			Node<E> n = this;
-			while (w != null && n == w.rightChild) {
-				n = w;
-				w = w.parent;
+	public boolean tryAdd(E value) {
+		Node<E> parent = null;
+		Node<E> current = topRoot;
+		int comparison = 0;
+		while (current != null) {
+			parent = current;
+			comparison = compare(value, current.data);
+			if (comparison < 0) {
+				current = current.leftChild;
+			} else if (comparison > 0) {
+				current = current.rightChild;
+			} else if (countDuplicates) {
+				current.count++;
+				this.size++;
+				return true;
+			} else {
+				return false;
 			}
-			return w;
 		}
-	}
-	
-	//Helper method for successor above. Finds the minimum node in the tree rooted at the parameter, root,
-	private Node<E> findMin(Node<E> root) {
-		if (root.leftChild == null) {
-			return root;
+		Node<E> inserted = new Node<E>(value, null, null, parent);
+		if (parent == null) {
+			this.topRoot = inserted;
+		} else if (comparison < 0) {
+			parent.leftChild = inserted;
 		} else {
-			return findMin(root.leftChild);
+			parent.rightChild = inserted;
 		}
+		for (Node<E> v = parent; v != null; v = v.parent) {
+			v.subtreeSize++;
+		}
+		addFixup(inserted);
+		this.size++;
+		return true;
 	}
 	
-	//really wish this was private, but couldn't call it outside the class if that were the case. 
-	//Returns the number of immediate children of this node. 
-	public int numChildren() {
-		int children = 0;
-		if (this.rightChild != null) {
-			children++;
-		}
-		if (this.leftChild != null) {
-			children++;
+	/** Running time: O(log(n))
+	*   @param value the value to look for 
+	*   @return how many times the value is in the tree. Always 0 or 1 unless this tree counts duplicates 
+	*/
+	public int count(E value) {
+		Node<E> v = search(value);
+		return v == null ? 0 : v.count;
+	}
+	
+	//Restores the red-black properties after add() links in the red node v. The only rule that 
+	//can be broken is a red node with a red parent, so we either push the problem up the tree by 
+	//recoloring (red uncle) or get rid of it with one or two rotations (black uncle).
+	private void addFixup(Node<E> v) {
+		while (isRed(v.parent)) {
+			Node<E> parent = v.parent;
+			Node<E> grandparent = parent.parent; //a red node is never the root, so this isn't null 
+			if (parent == grandparent.leftChild) {
+				Node<E> uncle = grandparent.rightChild;
+				if (isRed(uncle)) {
+					parent.red = false;
+					uncle.red = false;
+					grandparent.red = true;
+					v = grandparent;
+				} else {
+					if (v == parent.rightChild) {
+						v = parent;
+						rotateLeft(v);
+						parent = v.parent;
+					}
+					parent.red = false;
+					grandparent.red = true;
+					rotateRight(grandparent);
+				}
+			} else { //mirror image of the case above 
+				Node<E> uncle = grandparent.leftChild;
+				if (isRed(uncle)) {
+					parent.red = false;
+					uncle.red = false;
+					grandparent.red = true;
+					v = grandparent;
+				} else {
+					if (v == parent.leftChild) {
+						v = parent;
+						rotateRight(v);
+						parent = v.parent;
+					}
+					parent.red = false;
+					grandparent.red = true;
+					rotateLeft(grandparent);
+				}
+			}
 		}
-		return children;
+		this.topRoot.red = false;
 	}
 	
-	//not really necessary if this.data is public 
-	public E getData() {
-		return this.data;
+	//Compares two values using the comparator, or their natural ordering if there isn't one 
+	@SuppressWarnings("unchecked")
+	private int compare(E a, E b) {
+		if (comparator == null) {
+			return ((Comparable<? super E>) a).compareTo(b);
+		}
+		return comparator.compare(a, b);
 	}
 	
-	public int compareTo(E other) {
-		return this.data.compareTo(other);
+	/** Running time: O(1)
+	*   @return the comparator this tree is sorted by, or null if it uses the natural ordering 
+	*/
+	public Comparator<? super E> comparator() {
+		return comparator;
 	}
-}
-
-public class BST<E extends Comparable<E>> implements MyTree<E> {
-	private Node<E> topRoot;
-	private double size; //number of nodes in the tree 
-						//using a double means that we don't have undefined behavior until the 
-						// size reaches 2^63, instead of 2^31 if we used an int
 	
-	/** Constructs an empty Binary Search Tree. An empty tree is one where the 
-	*	root Node is null. 
-	*   Running time: O(1)
+	/** Makes a read-only copy of this tree that is laid out in one array, so lookups don't chase pointers. 
+	*   For a tree that is built once and then searched a lot, see FrozenBST. Changing this tree afterwards 
+	*   doesn't change the copy. 
+	*   Running time: O(n)
 	*/
-	public BST() {
-		this.topRoot = null;
-		this.size = 0;
+	public FrozenBST<E> freeze() {
+		return new FrozenBST<E>(this);
 	}
 	
-	/** Constructs a Binary Search Tree with a root node containing the given data. 
-	*   Running time: O(1)
+	/** Running time: O(1)
+	*   @return true if this tree counts duplicates, see BST(boolean) 
 	*/
-	public BST(E data) {
-		this.topRoot = new Node<E>(data);
-		this.size++;
+	public boolean countsDuplicates() {
+		return countDuplicates;
 	}
 	
-	public Node<E> getTopRoot() {
-		if (this.isEmpty()) {
-			throw new NoSuchElementException("Error: Tree is empty");
-		} else {
-			return this.topRoot;
+	//null children count as black 
+	private boolean isRed(Node<E> v) {
+		return v != null && v.red;
+	}
+	
+	//an empty subtree has no nodes 
+	private static <E> int sizeOf(Node<E> v) {
+		return v == null ? 0 : v.subtreeSize;
+	}
+	
+	//Rotates v down to the left, so that its right child takes its place. Keeps parent pointers in sync.
+	//Running time: O(1)
+	private void rotateLeft(Node<E> v) {
+		Node<E> right = v.rightChild;
+		v.rightChild = right.leftChild;
+		if (right.leftChild != null) {
+			right.leftChild.parent = v;
 		}
+		replaceInParent(v, right);
+		right.leftChild = v;
+		v.parent = right;
+		right.subtreeSize = v.subtreeSize;
+		v.subtreeSize = sizeOf(v.leftChild) + sizeOf(v.rightChild) + 1;
 	}
 	
-	/** Adds a node with the given value to the binary tree, maintaining the binary search tree 
-	*   property. Running time: O(log(n)), since this is a balanced tree. 
-	*/
-	public void add(E value) throws ElementAlreadyThereException {
-		this.topRoot = add(value, topRoot, topRoot);
-		this.size++;
+	//Rotates v down to the right, so that its left child takes its place. Keeps parent pointers in sync.
+	//Running time: O(1)
+	private void rotateRight(Node<E> v) {
+		Node<E> left = v.leftChild;
+		v.leftChild = left.rightChild;
+		if (left.rightChild != null) {
+			left.rightChild.parent = v;
+		}
+		replaceInParent(v, left);
+		left.rightChild = v;
+		v.parent = left;
+		left.subtreeSize = v.subtreeSize;
+		v.subtreeSize = sizeOf(v.leftChild) + sizeOf(v.rightChild) + 1;
 	}
 	
-	//helper method for add() above.
-	private Node<E> add(E value, Node<E> root, Node<E> lastPassed) throws ElementAlreadyThereException {
-		boolean flag = (root == lastPassed);
-		if (root == null) {
-			root = new Node<E>(value);
-		} else if (value.compareTo(root.data) < 0) {
-			root.leftChild = add(value, root.leftChild, root);
-		} else  if (value.compareTo(root.data) > 0) { 
-			root.rightChild = add(value, root.rightChild, root);
-		} else {
-			//throw exception- we're not allowing duplicates
-			throw new ElementAlreadyThereException(value);
+	//Hooks replacement into the spot in the tree that v currently occupies
+	private void replaceInParent(Node<E> v, Node<E> replacement) {
+		if (replacement != null) {
+			replacement.parent = v.parent;
 		}
-		//prevent root's parent from being itself
-		if (!flag) {
-			root.parent = lastPassed;
+		if (v.parent == null) {
+			this.topRoot = replacement;
+		} else if (v == v.parent.leftChild) {
+			v.parent.leftChild = replacement;
+		} else {
+			v.parent.rightChild = replacement;
 		}
-		//todo todo todo: BALANCE THE TREE
-		//BALANCE BALANCE BALANCE BALANCE BALANCE BALANCE 
-		return root;
 	}
 	
 	/** Adds a root to the tree if the tree is empty. Running time: O(1). 
@@ -211,72 +415,127 @@ public class BST<E extends Comparable<E>> implements MyTree<E> {
 		}
 	}
 	
-	/** Deletes the given value from this tree. Running time: O(log(n)), since findNode is O(log(n)) and after that 
-	*   we only do a small number of constant time operations.
+	/** Deletes the given value from this tree, or does nothing if it isn't there. If the tree counts duplicates 
+	*   and there's more than one copy, only one copy goes away. A node with two children 
+	*   is replaced by its successor, which gets spliced out of its old spot first- the successor has no left 
+	*   child, so that splice is the easy one-child case. Afterwards the tree is recolored and rotated to put 
+	*   the red-black rules back. No nodes are created along the way, and parent pointers and subtree sizes 
+	*   are kept up to date. 
+	*   Running time: O(log(n)), since findNode is O(log(n)), and the fixup does at most three rotations 
+	*   plus some recoloring on the way back up. 
 	*/
 	public void delete(E value) {
 		Node<E> toDelete = findNode(value);
-		int numChildren = toDelete.numChildren();
-		if (numChildren == 0) {
-			//delete case with no kids. Set parent to null
-			if (toDelete.isLeftChild()) {
-				toDelete.parent.leftChild = null; 
+		if (toDelete == null) {
+			return;
+		}
+		if (toDelete.count > 1) {
+			//just take away one copy 
+			toDelete.count--;
+			this.size--;
+			return;
+		}
+		//moved is the node that actually leaves its spot in the tree: toDelete itself, or its successor 
+		Node<E> moved = (toDelete.hasLeft() && toDelete.hasRight()) ? firstInorder(toDelete.rightChild) : toDelete;
+		for (Node<E> v = moved.parent; v != null; v = v.parent) {
+			v.subtreeSize--;
+		}
+		boolean removedRed = moved.red;
+		Node<E> replacement; //the node that ends up where moved used to be. It might be null 
+		Node<E> replacementParent;
+		if (!toDelete.hasLeft()) {
+			replacement = toDelete.rightChild;
+			replacementParent = toDelete.parent;
+			replaceInParent(toDelete, replacement);
+		} else if (!toDelete.hasRight()) {
+			replacement = toDelete.leftChild;
+			replacementParent = toDelete.parent;
+			replaceInParent(toDelete, replacement);
+		} else {
+			replacement = moved.rightChild;
+			if (moved.parent == toDelete) {
+				replacementParent = moved;
 			} else {
-				toDelete.parent.rightChild = null;
+				replacementParent = moved.parent;
+				replaceInParent(moved, replacement);
+				moved.rightChild = toDelete.rightChild;
+				moved.rightChild.parent = moved;
 			}
-		} else if (numChildren == 1) {
-			//"skip over" node to be deleted- basically like deleting in a linked list 
-			deleteOneChild(toDelete);
-		} else { 
-			//case where node has 2 kids- swap with successor, then do case 0 or case 1 
-			Node<E> successor = toDelete.successor();
-			swap(toDelete, successor);
+			replaceInParent(toDelete, moved);
+			moved.leftChild = toDelete.leftChild;
+			moved.leftChild.parent = moved;
+			moved.red = toDelete.red;
+			moved.subtreeSize = toDelete.subtreeSize;
 		}
+		//don't leave dangling pointers into the tree 
+		toDelete.leftChild = null;
+		toDelete.rightChild = null;
+		toDelete.parent = null;
+		if (!removedRed) {
+			deleteFixup(replacement, replacementParent);
+		}
+		this.size--;
 	}
 	
-	//This method swaps the node to be deleted with its successor, so that we can then delete it
-	private void swap(Node<E> toDelete, Node<E> successor) {
-		
-	}
-	
-	//helper method for the delete case where a node has one child 
-	private void deleteOneChild(Node<E> toDelete) {
-		int nodeCase = findCase(toDelete);
-		switch (nodeCase) {
-			case 1: 
-				toDelete.parent.leftChild = toDelete.leftChild;
-				toDelete.leftChild.parent = toDelete.parent;
-				toDelete.leftChild = null;
-				break;
-			case 2:
-				toDelete.parent.rightChild = toDelete.leftChild; 
-				toDelete.leftChild.parent = toDelete.parent;
-				toDelete.leftChild = null;
-				break;
-			case 3:
-				toDelete.parent.rightChild = toDelete.rightChild; 
-				toDelete.rightChild.parent = toDelete.parent;
-				toDelete.rightChild = null;
-				break;
-			case 4:
-				toDelete.parent.leftChild = toDelete.rightChild;
-				toDelete.rightChild.parent = toDelete.parent;
-				toDelete.rightChild = null;
-				break;
-		}
-	}
-	
-	//When deleting a node with 1 child, their are four cases. This method returns either 1, 2, 3, or 4, depending 
-	//on which case it is. 
-	private int findCase(Node<E> v) {
-		if (v.hasLeft() && v.isLeftChild()) {
-			return 1;
-		} else if (v.hasLeft() && v.isRightChild()) {
-			return 2;
-		} else if (v.hasRight() && v.isRightChild()) {
-			return 3;
-		} else { //v.hasRight() && v.isLeftChild()
-			return 4;
+	//Restores the red-black properties after delete() takes a black node out from above v. Every path through 
+	//v is now one black node short, so we either push that shortage up the tree by recoloring v's sibling, 
+	//or make up for it with rotations. v can be null, which is why its parent is passed in separately.
+	private void deleteFixup(Node<E> v, Node<E> parent) {
+		while (v != topRoot && !isRed(v)) {
+			if (v == parent.leftChild) {
+				Node<E> sibling = parent.rightChild; //can't be null, that side has at least one black node
+				if (isRed(sibling)) {
+					sibling.red = false;
+					parent.red = true;
+					rotateLeft(parent);
+					sibling = parent.rightChild;
+				}
+				if (!isRed(sibling.leftChild) && !isRed(sibling.rightChild)) {
+					sibling.red = true;
+					v = parent;
+					parent = v.parent;
+				} else {
+					if (!isRed(sibling.rightChild)) {
+						sibling.leftChild.red = false;
+						sibling.red = true;
+						rotateRight(sibling);
+						sibling = parent.rightChild;
+					}
+					sibling.red = parent.red;
+					parent.red = false;
+					sibling.rightChild.red = false;
+					rotateLeft(parent);
+					v = topRoot;
+				}
+			} else { //mirror image of the case above
+				Node<E> sibling = parent.leftChild;
+				if (isRed(sibling)) {
+					sibling.red = false;
+					parent.red = true;
+					rotateRight(parent);
+					sibling = parent.leftChild;
+				}
+				if (!isRed(sibling.leftChild) && !isRed(sibling.rightChild)) {
+					sibling.red = true;
+					v = parent;
+					parent = v.parent;
+				} else {
+					if (!isRed(sibling.leftChild)) {
+						sibling.rightChild.red = false;
+						sibling.red = true;
+						rotateLeft(sibling);
+						sibling = parent.leftChild;
+					}
+					sibling.red = parent.red;
+					parent.red = false;
+					sibling.leftChild.red = false;
+					rotateRight(parent);
+					v = topRoot;
+				}
+			}
+		}
+		if (v != null) {
+			v.red = false;
 		}
 	}
 	
@@ -285,17 +544,10 @@ public class BST<E extends Comparable<E>> implements MyTree<E> {
 	*/
 	public void printPreorder() {
 		System.out.print("Preorder traversal: ");
-		printPreorder(topRoot);
-		System.out.println();
-	}
-	
-	//helper method for printPreorder above 
-	private void printPreorder(Node<E> topRoot) {
-		if (topRoot != null) {
-			System.out.print(" " + topRoot.data); //visit
-			printPreorder(topRoot.leftChild); //go left 
-			printPreorder(topRoot.rightChild); //go right 
+		for (Node<E> v = topRoot; v != null; v = nextPreorder(v)) {
+			System.out.print(" " + v.data);
 		}
+		System.out.println();
 	}
 	
 	/** Prints the inorder traversal of the tree. Running time is O(N)- there are N nodes in this tree 
@@ -303,17 +555,10 @@ public class BST<E extends Comparable<E>> implements MyTree<E> {
 	*/
 	public void printInorder() {
 		System.out.print("Inorder traversal:");
-		printInorder(topRoot);
-		System.out.println();
-	}
-	
-	//helper method of printInorder above 
-	private void printInorder(Node<E> topRoot) {
-		if (topRoot != null) {
-			printInorder(topRoot.leftChild); //go left 
-			System.out.print(" " + topRoot.data); //vist 
-			printInorder(topRoot.rightChild); //go right 
+		for (Node<E> v = firstInorder(topRoot); v != null; v = v.successor()) {
+			System.out.print(" " + v.data);
 		}
+		System.out.println();
 	}
 	
 	/** Prints the postorder traversal of this tree. Running time is O(N) because there are N nodes, 
@@ -321,56 +566,313 @@ public class BST<E extends Comparable<E>> implements MyTree<E> {
 	*/
 	public void printPostorder() {
 		System.out.println("Postorder traversal: ");
-		printPostorder(topRoot);
-		System.out.println();
-	}
-
-	//helper method for printPostorder above
-	private void printPostorder(Node<E> topRoot) {
-		if (topRoot != null) {
-			printPostorder(topRoot.leftChild); //go left 
-			printPostorder(topRoot.rightChild); //go right 
-			System.out.print(" " + topRoot.data); //visit 
+		for (Node<E> v = firstPostorder(topRoot); v != null; v = nextPostorder(v)) {
+			System.out.print(" " + v.data);
 		}
+		System.out.println();
 	}
 	
 	/** Prints the level order traversal of this tree. Since there are N nodes that need to be 
 	*   printed, running time is O(n).
 	*/
 	public void printLevelOrder() {
-		MyQueue<Node<E>> q = new MyQueue<Node<E>>();
-		q.enqueue(topRoot);
+		if (this.isEmpty()) {
+			return;
+		}
+		ArrayDeque<Node<E>> q = new ArrayDeque<Node<E>>();
+		q.add(topRoot);
 		while (!q.isEmpty()) {
-			Node<E> n = q.dequeue();
+			Node<E> n = q.remove();
 			System.out.print(n.data + " ");
 			if (n.leftChild != null) {
-				q.enqueue(n.leftChild);
+				q.add(n.leftChild);
 			}
 			if (n.rightChild != null) {
-				q.enqueue(n.rightChild);
+				q.add(n.rightChild);
 			}
 		}
 	}
 	
+	/** Hands each value in the tree, in ascending order, to the given action. Unlike the print methods 
+	*   this doesn't build any strings, and unlike iterator() it doesn't even allocate an iterator.
+	*   Running time: O(n)
+	*   @param action what to do with each value 
+	*/
+	public void forEachInOrder(Consumer<? super E> action) {
+		for (Node<E> v = firstInorder(topRoot); v != null; v = v.successor()) {
+			action.accept(v.data);
+		}
+	}
+	
+	/** Same as forEachInOrder, but also hands over how many times each value is there, which is always 1 
+	*   unless this tree counts duplicates. 
+	*   Running time: O(n)
+	*/
+	public void forEachCounted(ObjIntConsumer<? super E> action) {
+		for (Node<E> v = firstInorder(topRoot); v != null; v = v.successor()) {
+			action.accept(v.data, v.count);
+		}
+	}
+	
+	/** Returns an iterator over the values of this tree in ascending (inorder) order. 
+	*   Running time: O(log(n)) to find the first value, and O(1) amortized per call to next() 
+	*   @return Iterator<E> over the tree in order
+	*/
+	public Iterator<E> iterator() {
+		return inorderIterator();
+	}
+	
+	/** Running time: O(log(n)), see iterator() 
+	*   @return an Iterator<E> that visits the values in inorder
+	*/
+	public Iterator<E> inorderIterator() {
+		return new InorderIterator();
+	}
+	
+	/** Running time: O(1), and O(1) amortized per call to next() 
+	*   @return an Iterator<E> that visits the values in preorder
+	*/
+	public Iterator<E> preorderIterator() {
+		return new PreorderIterator();
+	}
+	
+	/** Running time: O(log(n)) to find the first value, and O(1) amortized per call to next() 
+	*   @return an Iterator<E> that visits the values in postorder
+	*/
+	public Iterator<E> postorderIterator() {
+		return new PostorderIterator();
+	}
+	
+	/** The iterator keeps a queue of the nodes on the next level, so it uses O(n) space in the worst case 
+	*   Running time: O(1), and O(1) per call to next() 
+	*   @return an Iterator<E> that visits the values level by level, left to right 
+	*/
+	public Iterator<E> levelOrderIterator() {
+		return new LevelOrderIterator();
+	}
+	
+	/** Gives you a Spliterator over the values in ascending order, so the tree can be used with 
+	*   StreamSupport.stream. It knows its exact size, and that the values are distinct and in order. 
+	*   Running time: O(log(n))
+	*   @return a Spliterator<E> over the tree in order 
+	*/
+	public Spliterator<E> spliterator() {
+		int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+		if (comparator == null) {
+			//Spliterators can only report natural ordering. With a comparator the values are still in order, 
+			//but we can't say SORTED, since the spliterator would claim the natural ordering 
+			characteristics |= Spliterator.SORTED;
+		}
+		//sizeOf(topRoot) rather than size, which counts duplicates that the iterator only visits once 
+		return Spliterators.spliterator(inorderIterator(), sizeOf(topRoot), characteristics);
+	}
+	
+	/** Base class for the inorder, preorder and postorder iterators. They all just remember the next node to 
+	*   hand out and use one of the traversal core helpers to step to the one after it, so none of them 
+	*   allocates anything after it's constructed. The tree shouldn't be changed while one is in use.
+	*/
+	private abstract class TraversalIterator implements Iterator<E> {
+		private Node<E> next;
+		
+		/** Running time: O(1)
+		*   @param first the first node of the walk, or null if there isn't one 
+		*/
+		public TraversalIterator(Node<E> first) {
+			this.next = first;
+		}
+		
+		/** Running time: O(1)
+		*   @return true if there is a next element, false otherwise 
+		*/
+		public boolean hasNext() {
+			return next != null;
+		}
+		
+		/** Running time: O(1) amortized
+		*   @return the next value of the walk 
+		*   @exception NoSuchElementException if there is no next element 
+		*/
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			E result = next.data;
+			next = step(next);
+			return result;
+		}
+		
+		//returns the node after v in this walk, or null if v was the last one
+		protected abstract Node<E> step(Node<E> v);
+	}
+	
+	private class InorderIterator extends TraversalIterator {
+		public InorderIterator() {
+			super(firstInorder(topRoot));
+		}
+		
+		protected Node<E> step(Node<E> v) {
+			return v.successor();
+		}
+	}
+	
+	private class PreorderIterator extends TraversalIterator {
+		public PreorderIterator() {
+			super(topRoot);
+		}
+		
+		protected Node<E> step(Node<E> v) {
+			return nextPreorder(v);
+		}
+	}
+	
+	private class PostorderIterator extends TraversalIterator {
+		public PostorderIterator() {
+			super(firstPostorder(topRoot));
+		}
+		
+		protected Node<E> step(Node<E> v) {
+			return nextPostorder(v);
+		}
+	}
+	
+	/** Inorder walk that starts at the first value >= from and stops before the first value >= to. 
+	*/
+	private class RangeIterator extends TraversalIterator {
+		private E to;
+		
+		public RangeIterator(E from, E to) {
+			super(firstInRange(from, to));
+			this.to = to;
+		}
+		
+		protected Node<E> step(Node<E> v) {
+			Node<E> next = v.successor();
+			if (next == null || (to != null && compare(next.data, to) >= 0)) {
+				return null;
+			}
+			return next;
+		}
+	}
+	
+	/** Level order can't be done by following parent pointers, so this one keeps a queue just like 
+	*   printLevelOrder() does. 
+	*/
+	private class LevelOrderIterator implements Iterator<E> {
+		private ArrayDeque<Node<E>> queue;
+		
+		/** Running time: O(1)
+		*/
+		public LevelOrderIterator() {
+			queue = new ArrayDeque<Node<E>>();
+			if (topRoot != null) {
+				queue.add(topRoot);
+			}
+		}
+		
+		/** Running time: O(1)
+		*   @return true if there is a next element, false otherwise 
+		*/
+		public boolean hasNext() {
+			return !queue.isEmpty();
+		}
+		
+		/** Running time: O(1)
+		*   @return the next value, level by level 
+		*   @exception NoSuchElementException if there is no next element 
+		*/
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Node<E> n = queue.remove();
+			if (n.leftChild != null) {
+				queue.add(n.leftChild);
+			}
+			if (n.rightChild != null) {
+				queue.add(n.rightChild);
+			}
+			return n.data;
+		}
+	}
+	
+	/*  The traversal core. Every walk over the tree goes through the helpers below instead of recursing, 
+	*   so a walk never uses more than a couple of local variables no matter how deep the tree is. They 
+	*   get away with that by following the parent pointers back up. Each edge is followed at most 
+	*   twice, once down and once up, so a full walk is O(n) and allocates nothing. 
+	*/
+	
+	//Returns the first node of an inorder walk of the tree rooted at v, or null if v is null 
+	private static <E> Node<E> firstInorder(Node<E> v) {
+		if (v == null) {
+			return null;
+		}
+		while (v.leftChild != null) {
+			v = v.leftChild;
+		}
+		return v;
+	}
+	
+	//Returns the last node of an inorder walk of the tree rooted at v, or null if v is null 
+	private static <E> Node<E> lastInorder(Node<E> v) {
+		if (v == null) {
+			return null;
+		}
+		while (v.rightChild != null) {
+			v = v.rightChild;
+		}
+		return v;
+	}
+	
+	//Returns the node that comes after v in a preorder walk, or null if v is the last one
+	private static <E> Node<E> nextPreorder(Node<E> v) {
+		if (v.leftChild != null) {
+			return v.leftChild;
+		}
+		if (v.rightChild != null) {
+			return v.rightChild;
+		}
+		//v is a leaf. Climb until we come up out of a left subtree that has an unvisited right sibling
+		while (v.parent != null && (v == v.parent.rightChild || v.parent.rightChild == null)) {
+			v = v.parent;
+		}
+		return v.parent == null ? null : v.parent.rightChild;
+	}
+	
+	//Returns the first node of a postorder walk of the tree rooted at v- the leaf we reach by going 
+	//left whenever we can and right otherwise. Returns null if v is null
+	private static <E> Node<E> firstPostorder(Node<E> v) {
+		if (v == null) {
+			return null;
+		}
+		while (!v.isLeaf()) {
+			v = v.leftChild != null ? v.leftChild : v.rightChild;
+		}
+		return v;
+	}
+	
+	//Returns the node that comes after v in a postorder walk, or null if v is the last one (the root)
+	private static <E> Node<E> nextPostorder(Node<E> v) {
+		Node<E> parent = v.parent;
+		if (parent != null && v == parent.leftChild && parent.rightChild != null) {
+			return firstPostorder(parent.rightChild);
+		}
+		return parent;
+	}
+	
 	/** Returns the node containing given value, or null if no node contains that value. 
 	*   I don't like this though- clients really shouldn't be interfacing with my Node class
 	*   Since this is a balanced tree, running time is O(log(n))
 	*/
 	public Node<E> search(E value) {
-		return search(value, topRoot);
-	}
-	
-	//helper method for search(E value) above
-	private Node<E> search(E value, Node<E> topRoot) {
-		if (topRoot == null) {
-			return null; //case where we didn't find the value 
-		} else if (value.compareTo(topRoot.data) == 0) {
-			return topRoot;
-		} else if (value.compareTo(topRoot.data) < 0) {
-			return search(value, topRoot.leftChild);
-		} else {
-			return search(value, topRoot.rightChild);
+		Node<E> current = topRoot;
+		while (current != null) {
+			int comparison = compare(value, current.data);
+			if (comparison == 0) {
+				return current;
+			}
+			current = comparison < 0 ? current.leftChild : current.rightChild;
 		}
+		return null; //case where we didn't find the value 
 	}
 	
 	/** A search(E value) by any other name would smell as sweet...
@@ -384,16 +886,7 @@ public class BST<E extends Comparable<E>> implements MyTree<E> {
 	*   the value itself. But that's what the assignment says. Running time: O(log(n)) 
 	*/
 	public Node<E> findMin() {
-		return findMin(topRoot);
-	}
-	
-	//helper method for findMind above
-	private Node<E> findMin(Node<E> topRoot) {
-		if (topRoot.leftChild == null) {
-			return topRoot;
-		} else {
-			return findMin(topRoot.leftChild);
-		}
+		return firstInorder(topRoot);
 	}
 	
 	/** Returns the Node containing the maximum value in this tree. Running time: O(h), where h is the height of the tree. 
@@ -401,16 +894,7 @@ public class BST<E extends Comparable<E>> implements MyTree<E> {
 	*   turns out to be O(log(n))
 	*/
 	public Node<E> findMax() {
-		return findMax(topRoot);
-	}
-		
-	//helper method for findMax above 
-	private Node<E> findMax(Node<E> topRoot) {
-		if (topRoot.rightChild == null) {
-			return topRoot;
-		} else {
-			return findMax(topRoot.rightChild);
-		}
+		return lastInorder(topRoot);
 	}
 	
 	/** Returns true if there is a node in this tree that contains the given value, false otherwise 
@@ -420,26 +904,200 @@ public class BST<E extends Comparable<E>> implements MyTree<E> {
 		return findNode(value) != null;
 	}
 	
+	/** Running time: O(log(n))
+	*   @param value the value to look for 
+	*   @return the largest value in the tree that is less than or equal to the given one, or null if there isn't one
+	*/
+	public E floor(E value) {
+		return dataOf(floorNode(value, true));
+	}
+	
+	/** Running time: O(log(n))
+	*   @param value the value to look for 
+	*   @return the smallest value in the tree that is greater than or equal to the given one, or null if there isn't one
+	*/
+	public E ceiling(E value) {
+		return dataOf(ceilingNode(value, true));
+	}
+	
+	/** Running time: O(log(n))
+	*   @param value the value to look for 
+	*   @return the smallest value in the tree that is strictly greater than the given one, or null if there isn't one
+	*/
+	public E higher(E value) {
+		return dataOf(ceilingNode(value, false));
+	}
+	
+	/** Running time: O(log(n))
+	*   @param value the value to look for 
+	*   @return the largest value in the tree that is strictly less than the given one, or null if there isn't one
+	*/
+	public E lower(E value) {
+		return dataOf(floorNode(value, false));
+	}
+	
+	/** Returns the rank of the given value, which is the number of values in the tree that are less than it. 
+	*   The value doesn't have to be in the tree. Every node knows how big its subtree is, so on the way down 
+	*   we can count a whole left subtree at a time instead of visiting it. 
+	*   Running time: O(log(n))
+	*   @param value the value to rank 
+	*   @return how many values in the tree are less than value 
+	*/
+	public int rank(E value) {
+		int rank = 0;
+		Node<E> current = topRoot;
+		while (current != null) {
+			int comparison = compare(value, current.data);
+			if (comparison <= 0) {
+				current = current.leftChild;
+			} else {
+				rank += sizeOf(current.leftChild) + 1;
+				current = current.rightChild;
+			}
+		}
+		return rank;
+	}
+	
+	/** Returns the k-th smallest value in the tree, counting from 0, so select(0) is the minimum and 
+	*   select(rank(v)) == v for any v in the tree. 
+	*   Running time: O(log(n))
+	*   @param k the position of the value in sorted order 
+	*   @return the value at that position 
+	*   @exception IndexOutOfBoundsException if k < 0 or k >= size() 
+	*/
+	public E select(int k) {
+		if (k < 0 || k >= sizeOf(topRoot)) {
+			throw new IndexOutOfBoundsException("Error: k must be between 0 and size of tree - 1");
+		}
+		Node<E> current = topRoot;
+		while (true) {
+			int leftSize = sizeOf(current.leftChild);
+			if (k < leftSize) {
+				current = current.leftChild;
+			} else if (k == leftSize) {
+				return current.data;
+			} else {
+				k -= leftSize + 1;
+				current = current.rightChild;
+			}
+		}
+	}
+	
+	/** Returns an iterator over the values v with from <= v < to, in ascending order. A null bound means that 
+	*   side of the range is unbounded. It finds the first value with a single descent and then follows 
+	*   successor links, so it never looks at anything outside the range. 
+	*   Running time: O(log(n)) to find the start, O(log(n) + k) for the whole range, where k is the number of 
+	*   values in it 
+	*   @param from the lowest value to include, or null 
+	*   @param to the value to stop before, or null
+	*   @return Iterator<E> over the range
+	*/
+	public Iterator<E> rangeIterator(E from, E to) {
+		return new RangeIterator(from, to);
+	}
+	
+	/** Returns a view of the values v with from <= v < to. Nothing is copied- every time the view is iterated 
+	*   over, it walks the part of the tree that's in range at that moment. 
+	*   Running time: O(1)
+	*   @param from the lowest value to include
+	*   @param to the value to stop before
+	*   @return Iterable<E> over the range 
+	*/
+	public Iterable<E> subSet(E from, E to) {
+		return () -> rangeIterator(from, to);
+	}
+	
+	/** Same as subSet(E, E), but covers every value less than to.
+	*   Running time: O(1)
+	*   @param to the value to stop before
+	*   @return Iterable<E> over the values less than to 
+	*/
+	public Iterable<E> headSet(E to) {
+		return () -> rangeIterator(null, to);
+	}
+	
+	/** Same as subSet(E, E), but covers every value greater than or equal to from.
+	*   Running time: O(1)
+	*   @param from the lowest value to include
+	*   @return Iterable<E> over the values starting at from
+	*/
+	public Iterable<E> tailSet(E from) {
+		return () -> rangeIterator(from, null);
+	}
+	
+	//Returns the node with the smallest value that's greater than value (or equal to it, if inclusive is 
+	//true), or null if there isn't one. Every time we go left, the node we left from is the best answer so far
+	private Node<E> ceilingNode(E value, boolean inclusive) {
+		Node<E> best = null;
+		Node<E> current = topRoot;
+		while (current != null) {
+			int comparison = compare(value, current.data);
+			if (comparison == 0 && inclusive) {
+				return current;
+			} else if (comparison < 0) {
+				best = current;
+				current = current.leftChild;
+			} else {
+				current = current.rightChild;
+			}
+		}
+		return best;
+	}
+	
+	//Mirror image of ceilingNode: the node with the largest value less than (or equal to) value, or null 
+	private Node<E> floorNode(E value, boolean inclusive) {
+		Node<E> best = null;
+		Node<E> current = topRoot;
+		while (current != null) {
+			int comparison = compare(value, current.data);
+			if (comparison == 0 && inclusive) {
+				return current;
+			} else if (comparison > 0) {
+				best = current;
+				current = current.rightChild;
+			} else {
+				current = current.leftChild;
+			}
+		}
+		return best;
+	}
+	
+	//Returns the first node of the range [from, to), or null if the range is empty 
+	private Node<E> firstInRange(E from, E to) {
+		Node<E> first = from == null ? firstInorder(topRoot) : ceilingNode(from, true);
+		if (first == null || (to != null && compare(first.data, to) >= 0)) {
+			return null;
+		}
+		return first;
+	}
+	
+	private static <E> E dataOf(Node<E> v) {
+		return v == null ? null : v.data;
+	}
+	
 	/** Returns the size of the tree. Running time: O(1)
 	*/
 	public double size() {
 		return this.size;
 	}
 	
-	/** For whatever reason, we've been told to implement a size() function recursively. This makes no sense
-	*   as it has turned getting the size, which should always be O(1), into an O(N) operation. 
+	/** Returns the number of different values in the tree, which is less than size() if this tree counts 
+	*   duplicates. Running time: O(1)
 	*/
-	public double recursiveSize() {
-		return recursiveSize(topRoot);
+	public int distinctSize() {
+		return sizeOf(topRoot);
 	}
 	
-	//helper method for recursiveSize above 
-	private double recursiveSize(Node<E> topRoot) {
-		if (topRoot == null) {
-			return 0;
-		} else {
-			return 1 + recursiveSize(topRoot.leftChild) + recursiveSize(topRoot.rightChild);
+	/** For whatever reason, we've been told to implement a size() function recursively. This makes no sense
+	*   as it has turned getting the size, which should always be O(1), into an O(N) operation. It now 
+	*   counts the nodes with an inorder walk instead of recursion, so at least it can't overflow the stack.
+	*/
+	public double recursiveSize() {
+		double count = 0;
+		for (Node<E> v = firstInorder(topRoot); v != null; v = v.successor()) {
+			count += v.count;
 		}
+		return count;
 	}
 	
 	/** Returns true if the tree is empty, i.e. the root is null. False otherwise
@@ -451,40 +1109,43 @@ public class BST<E extends Comparable<E>> implements MyTree<E> {
 	
 	/** Returns the number of levels in a tree. The number of levels is equal to the level of the 
 	*   deepest node- the one furthest from the root. A tree with just the topRoot has 1 level
-	*   Running time: ???????????
+	*   Running time: O(n), same as height()
 	*/
 	public int numLevels() {
-		return numLevels(topRoot) - 1;
-	}
-	
-	//helper method for numLevels above 
-	private int numLevels(Node<E> topRoot) {
-		if (topRoot == null) {
-			return 0; //an empty tree has no levels 
-		} else {
-			//get height of left subtree from root, right subtree from root. Whichever 
-			//one is greater, that's the number of levels + 1 (account for root)
-			return Math.max(numLevels(topRoot.leftChild), numLevels(topRoot.rightChild)) + 1;
-		}
+		return this.isEmpty() ? -1 : deepestLevel();
 	}
 	
 	/** Returns the height of the tree, where height is the number of edges along the longest path from the root to 
 	*	a node. An empty tree, as well as a tree with one node, has a height of 0.
-	*   Running time: same as numLevels()
+	*   Running time: O(n)- every node has to be visited once to find the deepest one 
 	*/
 	public int height() {
-		return height(topRoot);
+		return this.isEmpty() ? 0 : deepestLevel();
 	}
 	
-	//helper method for height() above
-	private int height(Node<E> topRoot) {
-		if (topRoot == null) {
-			return 0;
+	//Helper method for numLevels and height above. Walks the tree in preorder, keeping track of how deep 
+	//we are, and returns the depth of the deepest leaf. The tree must not be empty
+	private int deepestLevel() {
+		Node<E> v = topRoot;
+		int depth = 0, deepest = 0;
+		while (true) {
+			if (v.leftChild != null) {
+				v = v.leftChild;
+				depth++;
+			} else if (v.rightChild != null) {
+				v = v.rightChild;
+				depth++;
+			} else {
+				deepest = Math.max(deepest, depth);
+				while (v.parent != null && (v == v.parent.rightChild || v.parent.rightChild == null)) {
+					v = v.parent;
+					depth--;
+				}
+				if (v.parent == null) {
+					return deepest;
+				}
+				v = v.parent.rightChild; //sibling of v, so the depth stays the same
+			}
 		}
-		if (topRoot.isLeaf()) {
-			return 0;
-		} else {
-			return 1 + Math.max(height(topRoot.leftChild), height(topRoot.rightChild));
-		} 
 	}
 }
\ No newline at end of file
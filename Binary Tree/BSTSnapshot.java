@@ -0,0 +1,214 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Comparator;
+import java.util.Iterator;
+
+/** Saves a BST to a channel (a file, a socket, whatever) and loads it back. The values are written in
+*   sorted order, so loading is just BST.fromSorted, which builds a balanced tree in O(n) without doing any
+*   comparisons beyond the check that the values really are sorted. Both directions stream through one
+*   fixed-size buffer, so no list of the values is ever built, on either side.
+*
+*   The format is a header followed by one record per distinct value:
+*   - header: magic number (int), version (int), flags (int, 1 = the tree counts duplicates), key width
+*     (int, the codec's width()), number of records (int)
+*   - record: the key as the codec writes it, and how many times the value is there (int, only if the tree
+*     counts duplicates). A codec with width -1 starts each key with its own length, see KeyCodec
+*   Everything is big-endian. The comparator isn't saved, so the tree has to be loaded with the same
+*   ordering it was saved with.
+*   @author Daniel Vilinsky
+*/
+public class BSTSnapshot {
+	private static final int MAGIC = 0x42535453; //"BSTS"
+	private static final int VERSION = 2; //version 1 put a second length in front of variable width keys
+	private static final int COUNTS_DUPLICATES = 1;
+	private static final int HEADER_SIZE = 20;
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	private BSTSnapshot() {
+	}
+	
+	/** Writes the tree to the channel. The channel isn't closed.
+	*   Running time: O(n)
+	*   @param tree the tree to save
+	*   @param codec how to turn its values into bytes
+	*   @param out where to write them
+	*   @exception IOException if writing to the channel fails
+	*/
+	public static <E> void write(BST<E> tree, KeyCodec<E> codec, WritableByteChannel out) throws IOException {
+		Writer<E> writer = new Writer<E>(codec, out, tree.countsDuplicates());
+		writer.buffer.putInt(MAGIC);
+		writer.buffer.putInt(VERSION);
+		writer.buffer.putInt(tree.countsDuplicates() ? COUNTS_DUPLICATES : 0);
+		writer.buffer.putInt(codec.width());
+		writer.buffer.putInt(tree.distinctSize());
+		try {
+			tree.forEachCounted(writer::write);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		writer.flush();
+	}
+	
+	/** Reads a tree that write() saved, whose values are ordered by their natural ordering. The channel
+	*   is read in big chunks, so it may get read past the end of the snapshot- anything after the snapshot
+	*   should be considered gone. The channel isn't closed.
+	*   Running time: O(n)
+	*   @param in where to read the snapshot from
+	*   @param codec how to turn bytes back into values. It has to be the one the tree was saved with
+	*   @return a balanced tree holding the same values (and counts) as the one that was saved
+	*   @exception IOException if reading fails, the channel ends early, or it doesn't hold a snapshot
+	*   written with a codec of this width
+	*/
+	public static <E extends Comparable<E>> BST<E> read(ReadableByteChannel in, KeyCodec<E> codec) throws IOException {
+		return read(in, codec, null);
+	}
+	
+	/** Same as read(ReadableByteChannel, KeyCodec), for a tree ordered by the given comparator.
+	*   Running time: O(n)
+	*   @param comparator the ordering the tree was saved with, or null for the natural ordering
+	*   @exception IOException also if the values aren't in order according to the comparator
+	*/
+	public static <E> BST<E> read(ReadableByteChannel in, KeyCodec<E> codec, Comparator<? super E> comparator) throws IOException {
+		Reader<E> reader = new Reader<E>(codec, in);
+		reader.fill(HEADER_SIZE);
+		ByteBuffer buffer = reader.buffer;
+		if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+			throw new IOException("Error: not a BST snapshot");
+		}
+		int flags = buffer.getInt();
+		if (buffer.getInt() != codec.width()) {
+			throw new IOException("Error: snapshot was written with a codec of a different width");
+		}
+		int count = buffer.getInt();
+		if (count < 0) {
+			throw new IOException("Error: snapshot has a negative number of values");
+		}
+		reader.countsDuplicates = (flags & COUNTS_DUPLICATES) != 0;
+		try {
+			return BST.fromSorted(reader, count, comparator, reader.countsDuplicates ? reader::count : null);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Error: snapshot is corrupt, or was written with a different ordering", e);
+		}
+	}
+	
+	/** Packs records into the buffer and writes it out whenever the next one doesn't fit. A key that's
+	*   bigger than the whole buffer gets a bigger buffer.
+	*/
+	private static class Writer<E> {
+		private KeyCodec<E> codec;
+		private WritableByteChannel out;
+		private boolean countsDuplicates;
+		public ByteBuffer buffer;
+		
+		public Writer(KeyCodec<E> codec, WritableByteChannel out, boolean countsDuplicates) {
+			this.codec = codec;
+			this.out = out;
+			this.countsDuplicates = countsDuplicates;
+			this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		}
+		
+		//forEachCounted can't throw a checked exception, so IOExceptions come out of here unchecked
+		public void write(E value, int count) {
+			int recordSize = codec.encodedSize(value) + (countsDuplicates ? 4 : 0);
+			try {
+				if (buffer.remaining() < recordSize) {
+					flush();
+					if (buffer.capacity() < recordSize) {
+						buffer = ByteBuffer.allocate(recordSize);
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			codec.write(value, buffer);
+			if (countsDuplicates) {
+				buffer.putInt(count);
+			}
+		}
+		
+		public void flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				out.write(buffer);
+			}
+			buffer.clear();
+		}
+	}
+	
+	/** Decodes records as fromSorted asks for them, refilling the buffer from the channel as it empties.
+	*   Between calls the buffer is in reading mode: everything from position to limit hasn't been used yet.
+	*/
+	private static class Reader<E> implements Iterator<E> {
+		private KeyCodec<E> codec;
+		private ReadableByteChannel in;
+		public boolean countsDuplicates;
+		public ByteBuffer buffer;
+		
+		public Reader(KeyCodec<E> codec, ReadableByteChannel in) {
+			this.codec = codec;
+			this.in = in;
+			this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			this.buffer.limit(0);
+		}
+		
+		//Makes sure at least bytes bytes are waiting in the buffer, growing it if they wouldn't fit.
+		//The channel is read in chunks, so this might read past the end of the snapshot
+		public void fill(int bytes) throws IOException {
+			if (buffer.remaining() >= bytes) {
+				return;
+			}
+			if (buffer.capacity() < bytes) {
+				buffer = ByteBuffer.allocate(bytes).put(buffer);
+			} else {
+				buffer.compact();
+			}
+			while (buffer.position() < bytes) {
+				if (in.read(buffer) < 0) {
+					throw new EOFException("Error: snapshot ended early");
+				}
+			}
+			buffer.flip();
+		}
+		
+		//The builder keeps asking for the number of values it said there were, so there's always a next
+		public boolean hasNext() {
+			return true;
+		}
+		
+		public E next() {
+			try {
+				int keySize = codec.width();
+				if (keySize < 0) {
+					//the key starts with how many bytes come after that int. Peek at it without using it up,
+					//since it's the codec's to read
+					fill(4);
+					int rest = buffer.getInt(buffer.position());
+					if (rest < 0 || rest > Integer.MAX_VALUE - 4) {
+						throw new IOException("Error: snapshot has a key with a bad length");
+					}
+					keySize = 4 + rest;
+				}
+				fill(keySize);
+				return codec.read(buffer);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		
+		//the count that goes with the value next() just returned
+		public int count() {
+			try {
+				fill(4);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return buffer.getInt();
+		}
+	}
+}
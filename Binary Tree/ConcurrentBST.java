@@ -0,0 +1,315 @@
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/** A binary search tree that many threads can use at once. Readers never lock and never wait: the tree
+*   is a PersistentBST, whose nodes are immutable, and the current version is published through one
+*   volatile reference. An add or delete builds the next version with PersistentBST.with() or without(),
+*   which copies only the O(log(n)) nodes on the path to the change, and then swaps it in. A reader that
+*   already grabbed the old version just keeps looking at it, and it stays valid forever. Writers take a
+*   lock so two of them can't both build on the same old version and lose one of the changes.
+*   snapshot() hands out the current version itself, so readers that need several calls to agree with
+*   each other can get a consistent view for free.
+*   Methods that return a Node (search, findMin, ...) hand out a standalone Node holding the value. Its
+*   links are all null, because the real nodes are shared and can't be handed out for modification.
+*   @author Daniel Vilinsky
+*/
+public class ConcurrentBST<E> implements MyTree<E> {
+	private volatile PersistentBST<E> current; //never changed in place, only replaced
+	private final ReentrantLock writeLock;
+	
+	/** Constructs an empty tree.
+	*   Running time: O(1)
+	*/
+	public ConcurrentBST() {
+		this(null);
+	}
+	
+	/** Constructs an empty tree sorted by the given comparator instead of the values' natural ordering.
+	*   Every version it publishes uses that ordering.
+	*   Running time: O(1)
+	*   @param comparator the ordering to use, or null for the natural ordering
+	*/
+	public ConcurrentBST(Comparator<? super E> comparator) {
+		this.current = new PersistentBST<E>(comparator);
+		this.writeLock = new ReentrantLock();
+	}
+	
+	/** Running time: O(1)
+	*   @return the comparator this tree is sorted by, or null if it uses the natural ordering
+	*/
+	public Comparator<? super E> comparator() {
+		return current.comparator();
+	}
+	
+	/** Returns the current version of the tree. Writers never touch a version once it's published, so
+	*   everything read from the snapshot agrees with everything else read from it, no matter what other
+	*   threads do. Changing the snapshot doesn't change this tree.
+	*   Running time: O(1)
+	*/
+	public PersistentBST<E> snapshot() {
+		return current.snapshot();
+	}
+	
+	/** Adds the given value to the tree. Other threads keep reading the old version until the new one
+	*   is published.
+	*   Running time: O(log(n)), and it creates O(log(n)) nodes
+	*   @exception ElementAlreadyThereException if the value is already in the tree
+	*/
+	public void add(E value) throws ElementAlreadyThereException {
+		if (!tryAdd(value)) {
+			throw new ElementAlreadyThereException(value);
+		}
+	}
+	
+	/** Same as add(), but returns false instead of throwing if the value is already there.
+	*   Running time: O(log(n))
+	*   @return true if the value was added
+	*/
+	public boolean tryAdd(E value) {
+		writeLock.lock();
+		try {
+			PersistentBST<E> next = current.with(value);
+			if (next == current) {
+				return false;
+			}
+			current = next;
+			return true;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+	
+	/** Adds a root to the tree if the tree is empty. Running time: O(1).
+	*/
+	public void addRoot(E value) throws ElementAlreadyThereException {
+		writeLock.lock();
+		try {
+			if (!this.isEmpty()) {
+				throw new ElementAlreadyThereException("Error: already has a root");
+			}
+			current = current.with(value);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+	
+	/** Deletes the given value from this tree, or does nothing if it isn't there.
+	*   Running time: O(log(n)), and it creates O(log(n)) nodes
+	*/
+	public void delete(E value) {
+		writeLock.lock();
+		try {
+			current = current.without(value);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+	
+	/*  Everything below just reads. Each method reads current once and asks that version, so it never
+	*   mixes two versions, and never locks.
+	*/
+	
+	/** Returns a node containing the given value, or null if it isn't in the tree. Lock free.
+	*   Running time: O(log(n))
+	*/
+	public Node<E> search(E value) {
+		return current.search(value);
+	}
+	
+	/** Same thing as search(E value).
+	*   Running time: O(log(n))
+	*/
+	public Node<E> findNode(E value) {
+		return search(value);
+	}
+	
+	/** Returns true if the value is in the tree. Lock free, and doesn't allocate.
+	*   Running time: O(log(n))
+	*/
+	public boolean contains(E value) {
+		return current.contains(value);
+	}
+	
+	/** Returns a node containing the minimum value, or null if the tree is empty. Lock free.
+	*   Running time: O(log(n))
+	*/
+	public Node<E> findMin() {
+		return current.findMin();
+	}
+	
+	/** Returns a node containing the maximum value, or null if the tree is empty. Lock free.
+	*   Running time: O(log(n))
+	*/
+	public Node<E> findMax() {
+		return current.findMax();
+	}
+	
+	/** Running time: O(1)
+	*   @return the number of values in the tree
+	*/
+	public double size() {
+		return current.size();
+	}
+	
+	/** Counts the values one at a time. Running time: O(n)
+	*/
+	public double recursiveSize() {
+		return current.recursiveSize();
+	}
+	
+	/** Running time: O(1)
+	*/
+	public boolean isEmpty() {
+		return current.isEmpty();
+	}
+	
+	/** Same meaning as BST.numLevels(): the height of the tree, or -1 if it's empty.
+	*   Running time: O(1), every node knows its height
+	*/
+	public int numLevels() {
+		return current.numLevels();
+	}
+	
+	/** Returns the number of edges on the longest path from the root down. Both an empty tree and a tree
+	*   with one node have height 0.
+	*   Running time: O(1)
+	*/
+	public int height() {
+		return current.height();
+	}
+	
+	/** Running time: O(log(n))
+	*   @return how many values in the tree are less than value
+	*/
+	public int rank(E value) {
+		return current.rank(value);
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the k-th smallest value, counting from 0
+	*   @exception IndexOutOfBoundsException if k < 0 or k >= size()
+	*/
+	public E select(int k) {
+		return current.select(k);
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the largest value <= value, or null if there isn't one
+	*/
+	public E floor(E value) {
+		return current.floor(value);
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the smallest value >= value, or null if there isn't one
+	*/
+	public E ceiling(E value) {
+		return current.ceiling(value);
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the smallest value > value, or null if there isn't one
+	*/
+	public E higher(E value) {
+		return current.higher(value);
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the largest value < value, or null if there isn't one
+	*/
+	public E lower(E value) {
+		return current.lower(value);
+	}
+	
+	/** Prints the preorder traversal of the tree. Running time: O(n)
+	*/
+	public void printPreorder() {
+		current.printPreorder();
+	}
+	
+	/** Prints the inorder traversal of the tree. Running time: O(n)
+	*/
+	public void printInorder() {
+		current.printInorder();
+	}
+	
+	/** Prints the postorder traversal of the tree. Running time: O(n)
+	*/
+	public void printPostorder() {
+		current.printPostorder();
+	}
+	
+	/** Prints the level order traversal of the tree. Running time: O(n)
+	*/
+	public void printLevelOrder() {
+		current.printLevelOrder();
+	}
+	
+	/** Hands each value to the action in ascending order. It works on the version of the tree that was
+	*   current when it was called, no matter what writers do in the meantime.
+	*   Running time: O(n)
+	*/
+	public void forEachInOrder(Consumer<? super E> action) {
+		current.forEachInOrder(action);
+	}
+	
+	/** All of the iterators walk the version of the tree that was current when they were created.
+	*   Running time: O(log(n))
+	*   @return an Iterator<E> over the values in ascending order
+	*/
+	public Iterator<E> iterator() {
+		return current.iterator();
+	}
+	
+	/** Running time: O(log(n))
+	*/
+	public Iterator<E> inorderIterator() {
+		return current.inorderIterator();
+	}
+	
+	/** Running time: O(1)
+	*/
+	public Iterator<E> preorderIterator() {
+		return current.preorderIterator();
+	}
+	
+	/** Running time: O(log(n))
+	*/
+	public Iterator<E> postorderIterator() {
+		return current.postorderIterator();
+	}
+	
+	/** Running time: O(1)
+	*/
+	public Iterator<E> levelOrderIterator() {
+		return current.levelOrderIterator();
+	}
+	
+	/** Iterates over the values v with from <= v < to. A null bound means that side is unbounded.
+	*   Running time: O(log(n) + k), where k is the number of values in range
+	*/
+	public Iterator<E> rangeIterator(E from, E to) {
+		return current.rangeIterator(from, to);
+	}
+	
+	/** A view of the values v with from <= v < to. Each iteration sees the version current at the time.
+	*   Running time: O(1)
+	*/
+	public Iterable<E> subSet(E from, E to) {
+		return () -> rangeIterator(from, to);
+	}
+	
+	/** Running time: O(1)
+	*/
+	public Iterable<E> headSet(E to) {
+		return () -> rangeIterator(null, to);
+	}
+	
+	/** Running time: O(1)
+	*/
+	public Iterable<E> tailSet(E from) {
+		return () -> rangeIterator(from, null);
+	}
+}
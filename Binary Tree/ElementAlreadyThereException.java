@@ -1,12 +1,17 @@
+/** Thrown when adding a value to a tree that already has it. The message used to be printed to the 
+*   console as soon as the exception was created, which meant every duplicate cost a println whether 
+*   or not anyone caught it. Now it's just the exception's message. 
+*/
 public class ElementAlreadyThereException extends Exception {
+	private static final long serialVersionUID = 1L;
 	public Object value;
 	
 	public ElementAlreadyThereException(Object value) {
+		super("Error: Element with value " + value + " already exists at this location in tree");
 		this.value = value;
-		System.out.println("Error: Element with value " + value.toString() + " already exists at this location in tree");
 	}
 	
 	public ElementAlreadyThereException(String msg) {
-		System.out.println(msg);
+		super(msg);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/** A read-only copy of a BST, made by BST.freeze(), laid out for fast lookups. Instead of nodes, the
+*   values sit in one array in Eytzinger order, which is the order a level order traversal would visit
+*   them in: the root is at index 1, and the children of index k are at 2k and 2k + 1. There are no links
+*   to follow, so a search is just index math, and the first few levels of the tree are packed together at
+*   the front of the array where they stay in the cache. In a BST every level is another node somewhere
+*   on the heap, so a search of a big tree pays for a cache miss at almost every step.
+*   The search loop doesn't branch on the comparison either: it always goes down to the bottom of the
+*   tree, picking the child with k = 2k + (went right ? 1 : 0), and afterwards works out where it last went
+*   left. That's always log(n) steps, but they're cheap ones, and the loop is easy to predict.
+*   Methods that return a Node hand out a standalone Node holding the value.
+*   @author Daniel Vilinsky
+*/
+public class FrozenBST<E> implements Iterable<E> {
+	private final Object[] values; //values[1..size] in Eytzinger order. values[0] is always null, which ceiling() counts on
+	private final int[] counts; //how many of each value there are, in the same order. null unless the tree counted duplicates
+	private final int size;
+	private final Comparator<? super E> comparator; //null means the natural ordering
+	
+	/** Copies the values of a BST into Eytzinger order. BST.freeze() is the way to make one of these.
+	*   Running time: O(n)
+	*/
+	FrozenBST(BST<E> tree) {
+		this.size = tree.distinctSize();
+		this.values = new Object[size + 1];
+		this.counts = tree.countsDuplicates() ? new int[size + 1] : null;
+		this.comparator = tree.comparator();
+		//an inorder walk of the implicit tree visits the slots in the order the tree hands out its values
+		int[] slot = {first()};
+		tree.forEachCounted((value, count) -> {
+			values[slot[0]] = value;
+			if (counts != null) {
+				counts[slot[0]] = count;
+			}
+			slot[0] = successor(slot[0]);
+		});
+	}
+	
+	@SuppressWarnings("unchecked")
+	private E valueAt(int k) {
+		return (E) values[k];
+	}
+	
+	@SuppressWarnings("unchecked")
+	private int compare(E a, E b) {
+		if (comparator == null) {
+			return ((Comparable<? super E>) a).compareTo(b);
+		}
+		return comparator.compare(a, b);
+	}
+	
+	//Returns the index of the smallest value >= value (> value if strict), or 0 if there isn't one.
+	//Goes all the way down first, then undoes the right turns taken since the last left turn: k's bits
+	//spell out the path from the root, 0 for left and 1 for right, so we strip the trailing 1s and the 0
+	//before them
+	private int lowerBound(E value, boolean strict) {
+		int k = 1;
+		while (k <= size) {
+			int comparison = compare(valueAt(k), value);
+			k = 2 * k + (comparison < 0 || (strict && comparison == 0) ? 1 : 0);
+		}
+		return k >> (Integer.numberOfTrailingZeros(~k) + 1);
+	}
+	
+	/** Running time: O(log(n))
+	*/
+	public boolean contains(E value) {
+		int k = lowerBound(value, false);
+		return k != 0 && compare(valueAt(k), value) == 0;
+	}
+	
+	/** Returns a standalone node holding the value, or null if it isn't in the tree.
+	*   Running time: O(log(n))
+	*/
+	public Node<E> search(E value) {
+		return contains(value) ? new Node<E>(value) : null;
+	}
+	
+	/** Same thing as search(E value). Running time: O(log(n))
+	*/
+	public Node<E> findNode(E value) {
+		return search(value);
+	}
+	
+	/** Running time: O(log(n))
+	*   @return how many times the value is in the tree. Always 0 or 1 unless the tree counted duplicates
+	*/
+	public int count(E value) {
+		int k = lowerBound(value, false);
+		if (k == 0 || compare(valueAt(k), value) != 0) {
+			return 0;
+		}
+		return counts == null ? 1 : counts[k];
+	}
+	
+	/** Returns a node holding the smallest value, or null if the tree is empty.
+	*   Running time: O(1)
+	*/
+	public Node<E> findMin() {
+		return size == 0 ? null : new Node<E>(valueAt(first()));
+	}
+	
+	/** Returns a node holding the largest value, or null if the tree is empty.
+	*   Running time: O(1)
+	*/
+	public Node<E> findMax() {
+		//the rightmost path is 1, 3, 7, 15, ..., so it ends at the biggest 2^j - 1 that fits
+		return size == 0 ? null : new Node<E>(valueAt(Integer.highestOneBit(size + 1) - 1));
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the smallest value >= value, or null if there isn't one
+	*/
+	public E ceiling(E value) {
+		return valueAt(lowerBound(value, false));
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the smallest value > value, or null if there isn't one
+	*/
+	public E higher(E value) {
+		return valueAt(lowerBound(value, true));
+	}
+	
+	/** Returns the number of different values in the tree. Running time: O(1)
+	*/
+	public int size() {
+		return size;
+	}
+	
+	/** Running time: O(1)
+	*/
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	//index of the leftmost slot, which is the biggest power of 2 that fits. 0 if the tree is empty
+	private int first() {
+		return Integer.highestOneBit(size);
+	}
+	
+	//index of the next slot in order, or 0 if k is the last one. Same idea as Node.successor(), but the
+	//parent of k is k / 2, and k is a left child if it's even
+	private int successor(int k) {
+		if (2 * k + 1 <= size) {
+			k = 2 * k + 1;
+			while (2 * k <= size) {
+				k = 2 * k;
+			}
+			return k;
+		}
+		//climb while we're coming up from the right, then once more
+		return k >> (Integer.numberOfTrailingZeros(~k) + 1);
+	}
+	
+	/** Running time: O(1)
+	*   @return an Iterator<E> over the values in ascending order
+	*/
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private int next = size == 0 ? 0 : first();
+			
+			public boolean hasNext() {
+				return next != 0;
+			}
+			
+			public E next() {
+				if (next == 0) {
+					throw new NoSuchElementException();
+				}
+				E value = valueAt(next);
+				next = successor(next);
+				return value;
+			}
+		};
+	}
+}
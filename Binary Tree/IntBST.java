@@ -0,0 +1,128 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/** A red-black tree of int keys. It does the same job as a BST<Integer>, but the keys are stored unboxed in
+*   an int[] next to the arrays that hold the tree's links (see PrimitiveBST), so it takes a fraction of
+*   the memory and searching it touches far fewer cache lines.
+*   @author Daniel Vilinsky
+*/
+public class IntBST extends PrimitiveBST {
+	private int[] keys;
+	
+	/** Constructs an empty tree.
+	*   Running time: O(1)
+	*/
+	public IntBST() {
+		this(0);
+	}
+	
+	/** Constructs an empty tree with room for the given number of keys before it has to grow.
+	*   Running time: O(capacity)
+	*   @param capacity the number of keys to make room for
+	*/
+	public IntBST(int capacity) {
+		super(capacity);
+		this.keys = new int[left.length];
+	}
+	
+	protected void growKeys(int capacity) {
+		keys = Arrays.copyOf(keys, capacity);
+	}
+	
+	/** Adds the given key to the tree and rebalances it.
+	*   Running time: O(log(n)), plus O(n) every once in a while when the arrays have to grow
+	*   @param key the key to add
+	*   @exception ElementAlreadyThereException if the key is already in the tree
+	*/
+	public void add(int key) throws ElementAlreadyThereException {
+		if (!tryAdd(key)) {
+			throw new ElementAlreadyThereException(key);
+		}
+	}
+	
+	/** Same as add(), but returns false instead of throwing if the key is already there.
+	*   Running time: O(log(n)), plus O(n) every once in a while when the arrays have to grow
+	*   @param key the key to add
+	*   @return true if the key was added
+	*/
+	public boolean tryAdd(int key) {
+		int p = NIL;
+		int current = root;
+		while (current != NIL) {
+			p = current;
+			if (key < keys[current]) {
+				current = left[current];
+			} else if (key > keys[current]) {
+				current = right[current];
+			} else {
+				return false;
+			}
+		}
+		int v = allocate();
+		keys[v] = key;
+		link(v, p, p != NIL && key < keys[p]);
+		return true;
+	}
+	
+	/** Deletes the given key from the tree, or does nothing if it isn't there. Its slot gets reused by a
+	*   later add.
+	*   Running time: O(log(n))
+	*   @param key the key to delete
+	*/
+	public void delete(int key) {
+		int v = find(key);
+		if (v != NIL) {
+			unlink(v);
+		}
+	}
+	
+	/** Running time: O(log(n))
+	*   @param key the key to look for
+	*   @return true if the key is in the tree, false otherwise
+	*/
+	public boolean contains(int key) {
+		return find(key) != NIL;
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the smallest key in the tree
+	*   @exception NoSuchElementException if the tree is empty
+	*/
+	public int findMin() {
+		if (isEmpty()) {
+			throw new NoSuchElementException("Error: Tree is empty");
+		}
+		return keys[minimum(root)];
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the largest key in the tree
+	*   @exception NoSuchElementException if the tree is empty
+	*/
+	public int findMax() {
+		if (isEmpty()) {
+			throw new NoSuchElementException("Error: Tree is empty");
+		}
+		return keys[maximum(root)];
+	}
+	
+	/** Hands each key, in ascending order, to the given action.
+	*   Running time: O(n)
+	*   @param action what to do with each key
+	*/
+	public void forEachInOrder(IntConsumer action) {
+		for (int v = root == NIL ? NIL : minimum(root); v != NIL; v = successor(v)) {
+			action.accept(keys[v]);
+		}
+	}
+	
+	//Returns the slot holding key, or NIL if it isn't in the tree
+	private int find(int key) {
+		int current = root;
+		while (current != NIL && key != keys[current]) {
+			current = key < keys[current] ? left[current] : right[current];
+		}
+		return current;
+	}
+}
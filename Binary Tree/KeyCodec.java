@@ -0,0 +1,86 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/** Turns keys into bytes and back, for the trees that keep their keys outside the Java heap (MappedBTree)
+*   or write them out to disk. Both write() and read() work at the buffer's current position and move it
+*   past the key, like ByteBuffer's own relative get and put methods.
+*   @author Daniel Vilinsky
+*/
+public interface KeyCodec<E> {
+	/** @return the number of bytes every key takes, or -1 if keys take a different number of bytes each.
+	*   A codec that returns -1 has to start every key it writes with an int saying how many bytes of the
+	*   key come after that int, the way STRING does, so a reader can tell how much to read before decoding
+	*/
+	public int width();
+	
+	/** @return the number of bytes write() will use for this value
+	*/
+	public int encodedSize(E value);
+	
+	public void write(E value, ByteBuffer buffer);
+	
+	public E read(ByteBuffer buffer);
+	
+	/** Ints, as 4 bytes each. */
+	public static final KeyCodec<Integer> INTEGER = new KeyCodec<Integer>() {
+		public int width() {
+			return 4;
+		}
+		
+		public int encodedSize(Integer value) {
+			return 4;
+		}
+		
+		public void write(Integer value, ByteBuffer buffer) {
+			buffer.putInt(value);
+		}
+		
+		public Integer read(ByteBuffer buffer) {
+			return buffer.getInt();
+		}
+	};
+	
+	/** Longs, as 8 bytes each. */
+	public static final KeyCodec<Long> LONG = new KeyCodec<Long>() {
+		public int width() {
+			return 8;
+		}
+		
+		public int encodedSize(Long value) {
+			return 8;
+		}
+		
+		public void write(Long value, ByteBuffer buffer) {
+			buffer.putLong(value);
+		}
+		
+		public Long read(ByteBuffer buffer) {
+			return buffer.getLong();
+		}
+	};
+	
+	/** Strings, as their length in bytes followed by the UTF-8 bytes. Since they vary in length they can't
+	*   go in a MappedBTree, but they're fine in a snapshot.
+	*/
+	public static final KeyCodec<String> STRING = new KeyCodec<String>() {
+		public int width() {
+			return -1;
+		}
+		
+		public int encodedSize(String value) {
+			return 4 + value.getBytes(StandardCharsets.UTF_8).length;
+		}
+		
+		public void write(String value, ByteBuffer buffer) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			buffer.putInt(bytes.length);
+			buffer.put(bytes);
+		}
+		
+		public String read(ByteBuffer buffer) {
+			byte[] bytes = new byte[buffer.getInt()];
+			buffer.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	};
+}
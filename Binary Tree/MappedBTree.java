@@ -0,0 +1,758 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/** A B+ tree that lives in a file instead of on the heap, so it can hold far more keys than would fit in
+*   memory. The file is split into 4KB pages and mapped into memory with FileChannel.map, which lets the
+*   operating system decide which pages are actually in RAM. Since the tree is the file, opening an
+*   existing file gives you the tree back right away, with nothing to rebuild.
+*   Every key lives in a leaf page, and the leaves are chained together left to right, so a range scan is
+*   one descent followed by reading leaves in order. Internal pages only hold copies of keys that steer
+*   the search. A page holds hundreds of keys, so even a billion keys is only four or five levels deep.
+*   Keys are stored with a fixed-width KeyCodec. Deleting a key just takes it out of its leaf- pages never
+*   get merged, which keeps delete simple, but it means a tree that shrinks a lot keeps its file size.
+*   It also leaves empty leaves in the chain, and the searches that read across leaves (floor, ceiling,
+*   the iterators, ...) have to step over them, one page each. After a lot of deletes that can be O(n)
+*   pages, so their running times below say "plus empty leaves".
+*   Because every value is in a leaf and all the leaves are on the same level, the preorder, postorder and
+*   level order traversals all visit the values in sorted order too. Methods that return a Node return a
+*   standalone Node holding the value, since the keys don't live in Node objects.
+*   This class is not thread safe.
+*   @author Daniel Vilinsky
+*/
+public class MappedBTree<E> implements MyTree<E>, AutoCloseable {
+	private static final int PAGE_SIZE = 4096;
+	private static final int SEGMENT_SHIFT = 18; //a mapping covers at most 2^18 pages (1GB)
+	private static final int SEGMENT_PAGES = 1 << SEGMENT_SHIFT;
+	private static final int INITIAL_PAGES = 16;
+	private static final int NO_PAGE = 0; //page 0 is the file header, so it's never a tree page
+	
+	//file header, at the start of page 0
+	private static final int MAGIC = 0x42545245; //"BTRE"
+	private static final int VERSION = 1;
+	private static final int MAGIC_OFFSET = 0, VERSION_OFFSET = 4, PAGE_SIZE_OFFSET = 8, KEY_WIDTH_OFFSET = 12,
+			ROOT_OFFSET = 16, PAGE_COUNT_OFFSET = 20, LEVELS_OFFSET = 24, SIZE_OFFSET = 32;
+	
+	//every tree page starts with a 16 byte header: type, key count, and (leaves only) the next leaf
+	private static final byte LEAF = 0, INTERNAL = 1;
+	private static final int TYPE_OFFSET = 0, COUNT_OFFSET = 4, NEXT_OFFSET = 8, PAGE_HEADER = 16;
+	
+	private final FileChannel channel;
+	private final KeyCodec<E> codec;
+	private final Comparator<? super E> comparator; //null means the natural ordering
+	private final int keyWidth;
+	private final int leafCapacity; //keys per leaf
+	private final int internalCapacity; //keys per internal page. It has one more child than that
+	private final byte[] scratch; //for shifting keys around inside a page
+	private MappedByteBuffer[] segments;
+	private int capacity; //pages the file has room for
+	private int root, pageCount, levels;
+	private long size;
+	//set by insert() when the page it was called on split: the new right page, and the key that separates them
+	private int splitPage;
+	private E splitKey;
+	
+	/** Opens the tree stored in the given file, or creates an empty one if the file is empty or doesn't
+	*   exist. Keys are ordered by their natural ordering.
+	*   Running time: O(1)
+	*   @param file the file holding the tree
+	*   @param codec how to turn keys into bytes. It has to have a fixed width
+	*   @exception IOException if the file can't be opened, or holds something other than a tree with keys
+	*   of this width
+	*/
+	public MappedBTree(Path file, KeyCodec<E> codec) throws IOException {
+		this(file, codec, null);
+	}
+	
+	/** Same as above, but ordered by the given comparator. It has to be the same ordering the file was
+	*   written with.
+	*   Running time: O(1)
+	*   @param comparator the ordering of the keys, or null for their natural ordering
+	*/
+	public MappedBTree(Path file, KeyCodec<E> codec, Comparator<? super E> comparator) throws IOException {
+		if (codec.width() <= 0) {
+			throw new IllegalArgumentException("Error: MappedBTree needs keys of a fixed width");
+		}
+		this.codec = codec;
+		this.comparator = comparator;
+		this.keyWidth = codec.width();
+		this.leafCapacity = (PAGE_SIZE - PAGE_HEADER) / keyWidth;
+		this.internalCapacity = (PAGE_SIZE - PAGE_HEADER - 4) / (keyWidth + 4);
+		if (internalCapacity < 3) {
+			throw new IllegalArgumentException("Error: keys are too wide to fit in a page");
+		}
+		this.scratch = new byte[PAGE_SIZE];
+		this.segments = new MappedByteBuffer[0];
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			if (channel.size() == 0) {
+				map(INITIAL_PAGES);
+				root = 1;
+				pageCount = 2;
+				levels = 1;
+				size = 0;
+				initPage(root, LEAF);
+				writeHeader();
+			} else {
+				//check the length before mapping anything, or a short file would leave no header page to read
+				if (channel.size() < PAGE_SIZE || channel.size() % PAGE_SIZE != 0) {
+					throw new IOException("Error: not a MappedBTree file");
+				}
+				map((int) (channel.size() / PAGE_SIZE));
+				readHeader();
+			}
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+	
+	private void readHeader() throws IOException {
+		ByteBuffer header = segments[0];
+		if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+			throw new IOException("Error: not a MappedBTree file");
+		}
+		if (header.getInt(PAGE_SIZE_OFFSET) != PAGE_SIZE || header.getInt(KEY_WIDTH_OFFSET) != keyWidth) {
+			throw new IOException("Error: file was written with a different page size or key width");
+		}
+		root = header.getInt(ROOT_OFFSET);
+		pageCount = header.getInt(PAGE_COUNT_OFFSET);
+		levels = header.getInt(LEVELS_OFFSET);
+		size = header.getLong(SIZE_OFFSET);
+	}
+	
+	private void writeHeader() {
+		ByteBuffer header = segments[0];
+		header.putInt(MAGIC_OFFSET, MAGIC);
+		header.putInt(VERSION_OFFSET, VERSION);
+		header.putInt(PAGE_SIZE_OFFSET, PAGE_SIZE);
+		header.putInt(KEY_WIDTH_OFFSET, keyWidth);
+		header.putInt(ROOT_OFFSET, root);
+		header.putInt(PAGE_COUNT_OFFSET, pageCount);
+		header.putInt(LEVELS_OFFSET, levels);
+		header.putLong(SIZE_OFFSET, size);
+	}
+	
+	/** Makes sure everything written so far has reached the disk.
+	*   Running time: depends on how many pages are dirty
+	*/
+	public void force() {
+		for (MappedByteBuffer segment : segments) {
+			segment.force();
+		}
+	}
+	
+	/** Flushes the tree to disk and closes the file. The tree can't be used afterwards.
+	*/
+	public void close() throws IOException {
+		force();
+		segments = new MappedByteBuffer[0];
+		channel.close();
+	}
+	
+	//Maps the first pages pages of the file, growing the file if it is shorter than that. Segments that
+	//are already mapped at full size are kept as they are
+	private void map(int pages) throws IOException {
+		int count = (pages + SEGMENT_PAGES - 1) >>> SEGMENT_SHIFT;
+		MappedByteBuffer[] mapped = Arrays.copyOf(segments, count);
+		for (int s = 0; s < count; s++) {
+			long bytes = (long) Math.min(SEGMENT_PAGES, pages - (s << SEGMENT_SHIFT)) * PAGE_SIZE;
+			if (mapped[s] == null || mapped[s].capacity() != bytes) {
+				mapped[s] = channel.map(FileChannel.MapMode.READ_WRITE, (long) s * SEGMENT_PAGES * PAGE_SIZE, bytes);
+			}
+		}
+		segments = mapped;
+		capacity = pages;
+	}
+	
+	//Hands out a fresh page, doubling the file if it's full
+	private int allocatePage(byte type) {
+		if (pageCount == capacity) {
+			try {
+				map((int) Math.min((long) capacity * 2, Integer.MAX_VALUE));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		int page = pageCount++;
+		initPage(page, type);
+		return page;
+	}
+	
+	private void initPage(int page, byte type) {
+		ByteBuffer buffer = segment(page);
+		int base = base(page);
+		buffer.put(base + TYPE_OFFSET, type);
+		buffer.putInt(base + COUNT_OFFSET, 0);
+		buffer.putInt(base + NEXT_OFFSET, NO_PAGE);
+	}
+	
+	/*  Page access. A page number picks a segment and an offset inside it; everything else is absolute
+	*   gets and puts relative to that offset.
+	*/
+	
+	private ByteBuffer segment(int page) {
+		return segments[page >>> SEGMENT_SHIFT];
+	}
+	
+	private int base(int page) {
+		return (page & (SEGMENT_PAGES - 1)) * PAGE_SIZE;
+	}
+	
+	private boolean isLeaf(int page) {
+		return segment(page).get(base(page) + TYPE_OFFSET) == LEAF;
+	}
+	
+	private int count(int page) {
+		return segment(page).getInt(base(page) + COUNT_OFFSET);
+	}
+	
+	private void setCount(int page, int count) {
+		segment(page).putInt(base(page) + COUNT_OFFSET, count);
+	}
+	
+	private int nextLeaf(int page) {
+		return segment(page).getInt(base(page) + NEXT_OFFSET);
+	}
+	
+	private void setNext(int page, int next) {
+		segment(page).putInt(base(page) + NEXT_OFFSET, next);
+	}
+	
+	private int child(int page, int i) {
+		return segment(page).getInt(base(page) + PAGE_HEADER + 4 * i);
+	}
+	
+	private void setChild(int page, int i, int child) {
+		segment(page).putInt(base(page) + PAGE_HEADER + 4 * i, child);
+	}
+	
+	//byte offset of key i inside its page. In an internal page the keys come after all of the children
+	private int keyOffset(int page, int i) {
+		int first = isLeaf(page) ? PAGE_HEADER : PAGE_HEADER + 4 * (internalCapacity + 1);
+		return base(page) + first + i * keyWidth;
+	}
+	
+	private E key(int page, int i) {
+		ByteBuffer buffer = segment(page);
+		buffer.position(keyOffset(page, i));
+		return codec.read(buffer);
+	}
+	
+	private void setKey(int page, int i, E value) {
+		ByteBuffer buffer = segment(page);
+		buffer.position(keyOffset(page, i));
+		codec.write(value, buffer);
+	}
+	
+	//Copies length bytes from one spot in a page to another, in a page that might be a different one.
+	//The source is copied out first, so overlapping ranges are fine
+	private void copyBytes(int fromPage, int fromOffset, int toPage, int toOffset, int length) {
+		segment(fromPage).get(fromOffset, scratch, 0, length);
+		segment(toPage).put(toOffset, scratch, 0, length);
+	}
+	
+	//Moves keys [from, count) of the page to start at index to, possibly on another page
+	private void moveKeys(int page, int from, int count, int toPage, int to) {
+		if (count > from) {
+			copyBytes(page, keyOffset(page, from), toPage, keyOffset(toPage, to), (count - from) * keyWidth);
+		}
+	}
+	
+	//Moves children [from, count) of the page to start at index to, possibly on another page
+	private void moveChildren(int page, int from, int count, int toPage, int to) {
+		if (count > from) {
+			copyBytes(page, base(page) + PAGE_HEADER + 4 * from, toPage, base(toPage) + PAGE_HEADER + 4 * to, (count - from) * 4);
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private int compare(E a, E b) {
+		if (comparator == null) {
+			return ((Comparable<? super E>) a).compareTo(b);
+		}
+		return comparator.compare(a, b);
+	}
+	
+	//Index of the first key in the page that is >= value (or > value, if strict is true)
+	private int search(int page, E value, boolean strict) {
+		int low = 0, high = count(page);
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			int comparison = compare(key(page, middle), value);
+			if (comparison < 0 || (strict && comparison == 0)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+	
+	//Follows the separators down to the leaf that would hold value. Key i of an internal page is the
+	//smallest key in child i + 1, so we go to the child after the last key <= value
+	private int leafFor(E value) {
+		int page = root;
+		while (!isLeaf(page)) {
+			page = child(page, search(page, value, true));
+		}
+		return page;
+	}
+	
+	/** Adds the given value to the tree.
+	*   Running time: O(log(n)) page reads, plus a page split now and then
+	*   @exception ElementAlreadyThereException if the value is already in the tree
+	*/
+	public void add(E value) throws ElementAlreadyThereException {
+		if (!tryAdd(value)) {
+			throw new ElementAlreadyThereException(value);
+		}
+	}
+	
+	/** Same as add(), but returns false instead of throwing if the value is already there.
+	*   Running time: O(log(n))
+	*   @return true if the value was added
+	*/
+	public boolean tryAdd(E value) {
+		if (!insert(root, value)) {
+			return false;
+		}
+		if (splitPage != NO_PAGE) {
+			//the root split, so the tree grows a level
+			int newRoot = allocatePage(INTERNAL);
+			setChild(newRoot, 0, root);
+			setChild(newRoot, 1, splitPage);
+			setKey(newRoot, 0, splitKey);
+			setCount(newRoot, 1);
+			root = newRoot;
+			levels++;
+		}
+		size++;
+		writeHeader();
+		return true;
+	}
+	
+	//Adds value to the subtree under page. Returns false if it's a duplicate. If page had to split,
+	//splitPage and splitKey say how, and the caller has to add them to the parent
+	private boolean insert(int page, E value) {
+		splitPage = NO_PAGE;
+		if (isLeaf(page)) {
+			int i = search(page, value, false);
+			int count = count(page);
+			if (i < count && compare(key(page, i), value) == 0) {
+				return false;
+			}
+			if (count < leafCapacity) {
+				insertIntoLeaf(page, i, value);
+				return true;
+			}
+			//split the leaf in half, link the new one in after it, and add to whichever half value goes in
+			int right = allocatePage(LEAF);
+			int half = count / 2;
+			moveKeys(page, half, count, right, 0);
+			setCount(right, count - half);
+			setCount(page, half);
+			setNext(right, nextLeaf(page));
+			setNext(page, right);
+			if (i > half) {
+				insertIntoLeaf(right, i - half, value);
+			} else {
+				insertIntoLeaf(page, i, value);
+			}
+			splitPage = right;
+			splitKey = key(right, 0);
+			return true;
+		}
+		int i = search(page, value, true);
+		if (!insert(child(page, i), value)) {
+			return false;
+		}
+		if (splitPage == NO_PAGE) {
+			return true;
+		}
+		int newChild = splitPage;
+		E newKey = splitKey;
+		splitPage = NO_PAGE;
+		int count = count(page);
+		if (count < internalCapacity) {
+			insertIntoInternal(page, i, newKey, newChild);
+			return true;
+		}
+		//split the internal page. The middle key moves up to the parent instead of staying in either half
+		int right = allocatePage(INTERNAL);
+		int middle = count / 2;
+		E up = key(page, middle);
+		moveKeys(page, middle + 1, count, right, 0);
+		moveChildren(page, middle + 1, count + 1, right, 0);
+		setCount(right, count - middle - 1);
+		setCount(page, middle);
+		if (i <= middle) {
+			insertIntoInternal(page, i, newKey, newChild);
+		} else {
+			insertIntoInternal(right, i - middle - 1, newKey, newChild);
+		}
+		splitPage = right;
+		splitKey = up;
+		return true;
+	}
+	
+	private void insertIntoLeaf(int page, int i, E value) {
+		int count = count(page);
+		moveKeys(page, i, count, page, i + 1);
+		setKey(page, i, value);
+		setCount(page, count + 1);
+	}
+	
+	//puts key at index i and its right child at index i + 1
+	private void insertIntoInternal(int page, int i, E key, int rightChild) {
+		int count = count(page);
+		moveKeys(page, i, count, page, i + 1);
+		moveChildren(page, i + 1, count + 1, page, i + 2);
+		setKey(page, i, key);
+		setChild(page, i + 1, rightChild);
+		setCount(page, count + 1);
+	}
+	
+	/** Adds a root to the tree if the tree is empty. Running time: O(1).
+	*/
+	public void addRoot(E value) throws ElementAlreadyThereException {
+		if (!this.isEmpty()) {
+			throw new ElementAlreadyThereException("Error: already has a root");
+		}
+		add(value);
+	}
+	
+	/** Deletes the given value from this tree, or does nothing if it isn't there. The key is taken out of
+	*   its leaf, and that's it- leaves are allowed to end up empty, and the scans just skip over them.
+	*   Running time: O(log(n))
+	*/
+	public void delete(E value) {
+		int page = leafFor(value);
+		int i = search(page, value, false);
+		int count = count(page);
+		if (i < count && compare(key(page, i), value) == 0) {
+			moveKeys(page, i + 1, count, page, i);
+			setCount(page, count - 1);
+			size--;
+			writeHeader();
+		}
+	}
+	
+	/** Running time: O(log(n))
+	*/
+	public boolean contains(E value) {
+		int page = leafFor(value);
+		int i = search(page, value, false);
+		return i < count(page) && compare(key(page, i), value) == 0;
+	}
+	
+	/** Returns a standalone node holding the value, or null if the value isn't in the tree.
+	*   Running time: O(log(n))
+	*/
+	public Node<E> search(E value) {
+		return contains(value) ? new Node<E>(value) : null;
+	}
+	
+	/** Same as search(E value). Running time: O(log(n))
+	*/
+	public Node<E> findNode(E value) {
+		return search(value);
+	}
+	
+	/** Returns a standalone node holding the smallest value, or null if the tree is empty.
+	*   Running time: O(log(n)), plus however many empty leaves there are at the front
+	*/
+	public Node<E> findMin() {
+		Iterator<E> itr = iterator();
+		return itr.hasNext() ? new Node<E>(itr.next()) : null;
+	}
+	
+	/** Returns a standalone node holding the largest value, or null if the tree is empty.
+	*   Running time: O(log(n)), plus however many empty leaves there are at the back
+	*/
+	public Node<E> findMax() {
+		E max = maxIn(root);
+		return max == null ? null : new Node<E>(max);
+	}
+	
+	//Largest value under page, or null if that whole subtree is empty. Tries the children right to left
+	private E maxIn(int page) {
+		int count = count(page);
+		if (isLeaf(page)) {
+			return count == 0 ? null : key(page, count - 1);
+		}
+		for (int i = count; i >= 0; i--) {
+			E max = maxIn(child(page, i));
+			if (max != null) {
+				return max;
+			}
+		}
+		return null;
+	}
+	
+	/** Running time: O(1)
+	*/
+	public double size() {
+		return size;
+	}
+	
+	/** Counts the values by scanning all of the leaves. Running time: O(n)
+	*/
+	public double recursiveSize() {
+		double count = 0;
+		for (int page = leftmostLeaf(); page != NO_PAGE; page = nextLeaf(page)) {
+			count += count(page);
+		}
+		return count;
+	}
+	
+	/** Running time: O(1)
+	*/
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/** Same meaning as BST.numLevels(): the height, or -1 if the tree is empty.
+	*   Running time: O(1)
+	*/
+	public int numLevels() {
+		return isEmpty() ? -1 : height();
+	}
+	
+	/** Returns the number of edges from the root page down to the leaves. Running time: O(1)
+	*/
+	public int height() {
+		return levels - 1;
+	}
+	
+	/** Pages don't keep track of how many keys are under them, so this has to count.
+	*   Running time: O(rank)
+	*   @return how many values in the tree are less than value
+	*/
+	public int rank(E value) {
+		int rank = 0;
+		for (Iterator<E> itr = rangeIterator(null, value); itr.hasNext(); itr.next()) {
+			rank++;
+		}
+		return rank;
+	}
+	
+	/** Running time: O(k), see rank()
+	*   @return the k-th smallest value, counting from 0
+	*   @exception IndexOutOfBoundsException if k < 0 or k >= size()
+	*/
+	public E select(int k) {
+		if (k < 0 || k >= size) {
+			throw new IndexOutOfBoundsException("Error: k must be between 0 and size of tree - 1");
+		}
+		Iterator<E> itr = iterator();
+		for (int i = 0; i < k; i++) {
+			itr.next();
+		}
+		return itr.next();
+	}
+	
+	/** Running time: O(log(n)), plus the empty leaves it backs up over
+	*   @return the largest value <= value, or null if there isn't one
+	*/
+	public E floor(E value) {
+		return floorIn(root, value, false);
+	}
+	
+	/** Running time: O(log(n)), plus the empty leaves it steps over
+	*   @return the smallest value >= value, or null if there isn't one
+	*/
+	public E ceiling(E value) {
+		Iterator<E> itr = seek(value, false, null);
+		return itr.hasNext() ? itr.next() : null;
+	}
+	
+	/** Running time: O(log(n)), plus the empty leaves it steps over
+	*   @return the smallest value > value, or null if there isn't one
+	*/
+	public E higher(E value) {
+		Iterator<E> itr = seek(value, true, null);
+		return itr.hasNext() ? itr.next() : null;
+	}
+	
+	/** Running time: O(log(n)), plus the empty leaves it backs up over
+	*   @return the largest value < value, or null if there isn't one
+	*/
+	public E lower(E value) {
+		return floorIn(root, value, true);
+	}
+	
+	//Largest value under page that is <= value (< value if strict). Leaves have no back links, so if the
+	//child we land in has nothing small enough, we back up and take the max of the child to its left.
+	//Backing up goes through every empty leaf in the way, since deletes leave them in the tree
+	private E floorIn(int page, E value, boolean strict) {
+		if (isLeaf(page)) {
+			int i = search(page, value, !strict);
+			return i == 0 ? null : key(page, i - 1);
+		}
+		for (int i = search(page, value, true); i >= 0; i--) {
+			E floor = floorIn(child(page, i), value, strict);
+			if (floor != null) {
+				return floor;
+			}
+		}
+		return null;
+	}
+	
+	private int leftmostLeaf() {
+		int page = root;
+		while (!isLeaf(page)) {
+			page = child(page, 0);
+		}
+		return page;
+	}
+	
+	//Returns an iterator starting at the first value >= from (> from if strict) and stopping before to
+	private Iterator<E> seek(E from, boolean strict, E to) {
+		int page = leafFor(from);
+		return new LeafIterator(page, search(page, from, strict), to);
+	}
+	
+	/** Prints the values in order. Running time: O(n)
+	*/
+	public void printInorder() {
+		System.out.print("Inorder traversal:");
+		forEachInOrder(value -> System.out.print(" " + value));
+		System.out.println();
+	}
+	
+	/** In a B+ tree this is the same as inorder, see the class comment. Running time: O(n)
+	*/
+	public void printPreorder() {
+		System.out.print("Preorder traversal: ");
+		forEachInOrder(value -> System.out.print(" " + value));
+		System.out.println();
+	}
+	
+	/** In a B+ tree this is the same as inorder, see the class comment. Running time: O(n)
+	*/
+	public void printPostorder() {
+		System.out.println("Postorder traversal: ");
+		forEachInOrder(value -> System.out.print(" " + value));
+		System.out.println();
+	}
+	
+	/** In a B+ tree this is the same as inorder, see the class comment. Running time: O(n)
+	*/
+	public void printLevelOrder() {
+		forEachInOrder(value -> System.out.print(value + " "));
+	}
+	
+	/** Running time: O(n)
+	*/
+	public void forEachInOrder(Consumer<? super E> action) {
+		for (int page = leftmostLeaf(); page != NO_PAGE; page = nextLeaf(page)) {
+			int count = count(page);
+			for (int i = 0; i < count; i++) {
+				action.accept(key(page, i));
+			}
+		}
+	}
+	
+	/** Running time: O(log(n)) to create. Each next() is O(1) plus the empty leaves it steps over
+	*   @return an Iterator<E> over the values in ascending order
+	*/
+	public Iterator<E> iterator() {
+		return new LeafIterator(leftmostLeaf(), 0, null);
+	}
+	
+	public Iterator<E> inorderIterator() {
+		return iterator();
+	}
+	
+	public Iterator<E> preorderIterator() {
+		return iterator();
+	}
+	
+	public Iterator<E> postorderIterator() {
+		return iterator();
+	}
+	
+	public Iterator<E> levelOrderIterator() {
+		return iterator();
+	}
+	
+	/** Iterates over the values v with from <= v < to, a null bound meaning unbounded. One descent finds
+	*   the start, then it reads along the leaf chain.
+	*   Running time: O(log(n) + k), where k is the number of values in range, plus the empty leaves in
+	*   the way
+	*/
+	public Iterator<E> rangeIterator(E from, E to) {
+		return from == null ? new LeafIterator(leftmostLeaf(), 0, to) : seek(from, false, to);
+	}
+	
+	/** Running time: O(1)
+	*/
+	public Iterable<E> subSet(E from, E to) {
+		return () -> rangeIterator(from, to);
+	}
+	
+	/** Running time: O(1)
+	*/
+	public Iterable<E> headSet(E to) {
+		return () -> rangeIterator(null, to);
+	}
+	
+	/** Running time: O(1)
+	*/
+	public Iterable<E> tailSet(E from) {
+		return () -> rangeIterator(from, null);
+	}
+	
+	/** Walks the leaf chain from a given spot, skipping empty leaves, and stops before the first value that
+	*   is >= to (if to isn't null). The tree shouldn't be changed while one is in use.
+	*/
+	private class LeafIterator implements Iterator<E> {
+		private int page, index;
+		private E to;
+		private E next;
+		
+		public LeafIterator(int page, int index, E to) {
+			this.page = page;
+			this.index = index;
+			this.to = to;
+			advance();
+		}
+		
+		//loads the value at (page, index) into next, moving on to later leaves if this one is used up
+		private void advance() {
+			while (page != NO_PAGE && index >= count(page)) {
+				page = nextLeaf(page);
+				index = 0;
+			}
+			next = page == NO_PAGE ? null : key(page, index);
+			if (next != null && to != null && compare(next, to) >= 0) {
+				next = null;
+				page = NO_PAGE;
+			}
+		}
+		
+		public boolean hasNext() {
+			return page != NO_PAGE;
+		}
+		
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			E result = next;
+			index++;
+			advance();
+			return result;
+		}
+	}
+}
@@ -1,17 +1,26 @@
+import java.util.Iterator;
+import java.util.function.Consumer;
+
 /** Why does this interface exist? Basically so I can quickly reference all of the methods available 
 *   to me when using my tree in a client program
 */
-public interface MyTree<E extends Comparable<E>> {
+public interface MyTree<E> extends Iterable<E> {
 	public void printPostorder(); 
 	public void printInorder();  
 	public void printPreorder();  
 	public void printLevelOrder();
+	public void forEachInOrder(Consumer<? super E> action);
+	public Iterator<E> inorderIterator(); //iterator() also goes in order
+	public Iterator<E> preorderIterator();
+	public Iterator<E> postorderIterator();
+	public Iterator<E> levelOrderIterator();
 	public double size();
 	public boolean isEmpty();
 	public int numLevels();
 	public int height();
 	public double recursiveSize();
 	public void add(E value) throws ElementAlreadyThereException;
+	public boolean tryAdd(E value); //like add, but returns false instead of throwing on a duplicate
 	public void addRoot(E value) throws ElementAlreadyThereException;
 	public void delete(E value);
 	public Node<E> search(E value);
@@ -19,4 +28,14 @@ public interface MyTree<E extends Comparable<E>> {
 	public boolean contains(E value);
 	public Node<E> findMin();
 	public Node<E> findMax();
+	public int rank(E value);
+	public E select(int k);
+	public E floor(E value);
+	public E ceiling(E value);
+	public E higher(E value);
+	public E lower(E value);
+	public Iterator<E> rangeIterator(E from, E to); //from inclusive, to exclusive, null means unbounded
+	public Iterable<E> subSet(E from, E to);
+	public Iterable<E> headSet(E to);
+	public Iterable<E> tailSet(E from);
 }
\ No newline at end of file
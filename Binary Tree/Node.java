@@ -0,0 +1,139 @@
+import java.util.NoSuchElementException;
+
+class Node<E> implements Comparable<E> {
+	public E data;
+	public Node<E> leftChild, rightChild, parent;
+	public boolean red; //color used by the red-black balancing in BST. New nodes start out red
+	public int subtreeSize; //number of nodes in the subtree rooted at this node, this node included
+	public int count; //how many times data has been added. Only ever more than 1 if the tree counts duplicates
+	
+	public Node() {
+		this(null, null, null, null);
+	}
+	
+	public Node(E data) {
+		this(data, null, null, null);
+	}
+	
+	public Node(E data, Node<E> leftChild, Node<E> rightChild, Node<E> parent) {
+		this.data = data;
+		this.leftChild = leftChild;
+		this.rightChild = rightChild;
+		this.parent = parent;
+		this.red = true;
+		this.subtreeSize = 1;
+		this.count = 1;
+	}
+	
+	public boolean hasLeft() {
+		return this.leftChild != null;
+	}
+	
+	public boolean hasRight() {
+		return this.rightChild != null;
+	}
+	
+	public boolean isLeaf() {
+		return this.rightChild == null && this.leftChild == null;
+	}
+	
+	public boolean isRoot() {
+		return this.parent == null;
+	}
+	
+	//These used to compare data against the parent's data. Checking which of the parent's links points 
+	//here gives the same answer without a comparison, and works whatever order the tree is sorted by 
+	public boolean isLeftChild() {
+		return !this.isRoot() && this.parent.leftChild == this;
+	}
+	
+	public boolean isRightChild() {
+		return !this.isRoot() && this.parent.rightChild == this;
+	}
+	
+	public boolean hasParent() {
+		return this.parent != null;
+	}
+	
+	public boolean isInternalNode() {
+		return this.leftChild != null || this.rightChild != null;
+	}
+	
+	public boolean isExternalNode() {
+		return !this.isInternalNode();
+	}
+	
+	/** This method returns the depth of a Node v, where the depth is the number of edges along the path
+	*   from the node to the root. Running time: O(log(n)), since BST keeps itself red-black balanced and 
+	*   no path from the root is longer than 2*log(n + 1)
+	*/
+	public int depth() {
+		int depth = 0;
+		for (Node<E> v = this; !v.isRoot(); v = v.parent) {
+			depth++;
+		}
+		return depth;
+	}
+	
+	//again if this.parent is public, not really necessary
+	//but I guess at least it does some error-checking
+	public Node<E> getParent() {
+		if (!this.isRoot()) {
+			return this.parent;
+		} else {
+			throw new NoSuchElementException("Error: This node has no parent. It is the root");
+		}
+	}
+	
+	/** This method returns the node that would come after this node if the nodes were listed by their 
+	*   values in ascending order.  Running time: O(log(n)), where n is the number of nodes. In a balanced tree,
+	*	the number of parents a Node can have is at most height - 1, and the height is proportional to the log of the 
+	*   number of nodes. Returns null if this Node has no successor. 
+	*/
+	public Node<E> successor() {
+		if (this.rightChild != null) {
+			return findMin(this.rightChild);
+		} else {
+			Node<E> w = this.parent;
+			Node<E> n = this;
+			while (w != null && n == w.rightChild) {
+				n = w;
+				w = w.parent;
+			}
+			return w;
+		}
+	}
+	
+	//Helper method for successor above. Finds the minimum node in the tree rooted at the parameter, root,
+	private Node<E> findMin(Node<E> root) {
+		while (root.leftChild != null) {
+			root = root.leftChild;
+		}
+		return root;
+	}
+	
+	//really wish this was private, but couldn't call it outside the class if that were the case. 
+	//Returns the number of immediate children of this node. 
+	public int numChildren() {
+		int children = 0;
+		if (this.rightChild != null) {
+			children++;
+		}
+		if (this.leftChild != null) {
+			children++;
+		}
+		return children;
+	}
+	
+	//not really necessary if this.data is public 
+	public E getData() {
+		return this.data;
+	}
+	
+	//Compares by the natural ordering of the data, so it only works if E is Comparable. BST itself 
+	//doesn't use this- it goes through its comparator 
+	@SuppressWarnings("unchecked")
+	public int compareTo(E other) {
+		return ((Comparable<? super E>) this.data).compareTo(other);
+	}
+}
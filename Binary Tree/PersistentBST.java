@@ -0,0 +1,658 @@
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/** A persistent binary search tree: its nodes never change once they're built, so every version of the
+*   tree stays valid forever. An add or delete copies the nodes on the path from the root to the change
+*   (O(log(n)) of them), reuses every other subtree as is, and ends up with a new root. The old root still
+*   describes the old version, and the two versions share everything that wasn't on the path.
+*   That makes a snapshot free. snapshot() returns a second tree with the same root in O(1), and nothing
+*   either of them does later shows up in the other one, so there is no reason to ever deep copy the tree.
+*   with() and without() go one step further and leave this tree alone, handing back the new version.
+*   add() and delete() are there so this can be used like any other MyTree- they just switch this tree
+*   over to the new version.
+*   Without parent pointers red-black rebalancing gets awkward, so this tree is an AVL tree: the heights
+*   of the two subtrees of any node differ by at most one, which keeps the height under 1.45*log(n).
+*   Methods that return a Node (search, findMin, ...) hand out a standalone Node holding the value. Its
+*   links are all null, because the real nodes are shared and can't be handed out for modification.
+*   A PersistentBST that nobody calls add() or delete() on is safe to read from any number of threads,
+*   which is what ConcurrentBST is built on.
+*   Like BST, it's sorted by the values' natural ordering unless it's given a Comparator, and every version
+*   of the tree keeps the ordering it started with.
+*   @author Daniel Vilinsky
+*/
+public class PersistentBST<E> implements MyTree<E> {
+	private ImmutableNode<E> topRoot;
+	private final Comparator<? super E> comparator; //null means the natural ordering
+	
+	/** A node that never changes after it is constructed. It knows its height and the size of its
+	*   subtree, so balancing, rank() and select() don't have to go looking.
+	*/
+	private static final class ImmutableNode<E> {
+		final E data;
+		final ImmutableNode<E> leftChild, rightChild;
+		final int height; //a leaf has height 1, so that an empty subtree can have height 0
+		final int subtreeSize;
+		
+		ImmutableNode(E data, ImmutableNode<E> leftChild, ImmutableNode<E> rightChild) {
+			this.data = data;
+			this.leftChild = leftChild;
+			this.rightChild = rightChild;
+			this.height = Math.max(heightOf(leftChild), heightOf(rightChild)) + 1;
+			this.subtreeSize = sizeOf(leftChild) + sizeOf(rightChild) + 1;
+		}
+	}
+	
+	/** Constructs an empty tree.
+	*   Running time: O(1)
+	*/
+	public PersistentBST() {
+		this.topRoot = null;
+		this.comparator = null;
+	}
+	
+	/** Constructs an empty tree sorted by the given comparator instead of the values' natural ordering.
+	*   Running time: O(1)
+	*   @param comparator the ordering to use, or null for the natural ordering
+	*/
+	public PersistentBST(Comparator<? super E> comparator) {
+		this.topRoot = null;
+		this.comparator = comparator;
+	}
+	
+	//A tree that starts out as the version rooted at root
+	private PersistentBST(ImmutableNode<E> root, Comparator<? super E> comparator) {
+		this.topRoot = root;
+		this.comparator = comparator;
+	}
+	
+	/** Returns a tree holding the same values as this one right now. The two share all of their nodes,
+	*   but from here on they're independent: adding to or deleting from one of them doesn't change the other.
+	*   Running time: O(1)
+	*/
+	public PersistentBST<E> snapshot() {
+		return new PersistentBST<E>(topRoot, comparator);
+	}
+	
+	/** Returns the version of this tree with value added. This tree doesn't change.
+	*   Running time: O(log(n)), and it creates O(log(n)) nodes
+	*   @return the new version, or this tree if the value was already there
+	*/
+	public PersistentBST<E> with(E value) {
+		return contains(value) ? this : new PersistentBST<E>(insert(topRoot, value), comparator);
+	}
+	
+	/** Returns the version of this tree with value taken out. This tree doesn't change.
+	*   Running time: O(log(n)), and it creates O(log(n)) nodes
+	*   @return the new version, or this tree if the value wasn't there
+	*/
+	public PersistentBST<E> without(E value) {
+		return contains(value) ? new PersistentBST<E>(remove(topRoot, value), comparator) : this;
+	}
+	
+	/** Adds the given value to the tree. Snapshots taken before this don't see it.
+	*   Running time: O(log(n)), and it creates O(log(n)) nodes
+	*   @exception ElementAlreadyThereException if the value is already in the tree
+	*/
+	public void add(E value) throws ElementAlreadyThereException {
+		if (!tryAdd(value)) {
+			throw new ElementAlreadyThereException(value);
+		}
+	}
+	
+	/** Same as add(), but returns false instead of throwing if the value is already there.
+	*   Running time: O(log(n))
+	*   @return true if the value was added
+	*/
+	public boolean tryAdd(E value) {
+		if (contains(value)) {
+			return false;
+		}
+		topRoot = insert(topRoot, value);
+		return true;
+	}
+	
+	/** Adds a root to the tree if the tree is empty. Running time: O(1).
+	*/
+	public void addRoot(E value) throws ElementAlreadyThereException {
+		if (!this.isEmpty()) {
+			throw new ElementAlreadyThereException("Error: already has a root");
+		}
+		topRoot = new ImmutableNode<E>(value, null, null);
+	}
+	
+	/** Deletes the given value from this tree, or does nothing if it isn't there. Snapshots taken before
+	*   this still have it.
+	*   Running time: O(log(n)), and it creates O(log(n)) nodes
+	*/
+	public void delete(E value) {
+		if (contains(value)) {
+			topRoot = remove(topRoot, value);
+		}
+	}
+	
+	//Compares two values using the comparator, or their natural ordering if there isn't one
+	@SuppressWarnings("unchecked")
+	private int compare(E a, E b) {
+		if (comparator == null) {
+			return ((Comparable<? super E>) a).compareTo(b);
+		}
+		return comparator.compare(a, b);
+	}
+	
+	/** Running time: O(1)
+	*   @return the comparator this tree is sorted by, or null if it uses the natural ordering
+	*/
+	public Comparator<? super E> comparator() {
+		return comparator;
+	}
+	
+	//Returns a copy of the tree rooted at v with value added. Only the nodes along the path get copied
+	private ImmutableNode<E> insert(ImmutableNode<E> v, E value) {
+		if (v == null) {
+			return new ImmutableNode<E>(value, null, null);
+		} else if (compare(value, v.data) < 0) {
+			return balance(v.data, insert(v.leftChild, value), v.rightChild);
+		} else {
+			return balance(v.data, v.leftChild, insert(v.rightChild, value));
+		}
+	}
+	
+	//Returns a copy of the tree rooted at v with value taken out. The value has to be in the tree
+	private ImmutableNode<E> remove(ImmutableNode<E> v, E value) {
+		int comparison = compare(value, v.data);
+		if (comparison < 0) {
+			return balance(v.data, remove(v.leftChild, value), v.rightChild);
+		} else if (comparison > 0) {
+			return balance(v.data, v.leftChild, remove(v.rightChild, value));
+		} else if (v.leftChild == null) {
+			return v.rightChild;
+		} else if (v.rightChild == null) {
+			return v.leftChild;
+		} else {
+			//two children: the successor takes v's place
+			return balance(minimum(v.rightChild).data, v.leftChild, removeMin(v.rightChild));
+		}
+	}
+	
+	private static <E> ImmutableNode<E> removeMin(ImmutableNode<E> v) {
+		if (v.leftChild == null) {
+			return v.rightChild;
+		}
+		return balance(v.data, removeMin(v.leftChild), v.rightChild);
+	}
+	
+	//Builds a node out of data and two subtrees whose heights differ by at most two, doing a single or
+	//double rotation if they differ by two
+	private static <E> ImmutableNode<E> balance(E data, ImmutableNode<E> left, ImmutableNode<E> right) {
+		int leftHeight = heightOf(left), rightHeight = heightOf(right);
+		if (leftHeight > rightHeight + 1) {
+			if (heightOf(left.leftChild) >= heightOf(left.rightChild)) {
+				return new ImmutableNode<E>(left.data, left.leftChild, new ImmutableNode<E>(data, left.rightChild, right));
+			}
+			ImmutableNode<E> middle = left.rightChild;
+			return new ImmutableNode<E>(middle.data, new ImmutableNode<E>(left.data, left.leftChild, middle.leftChild),
+					new ImmutableNode<E>(data, middle.rightChild, right));
+		} else if (rightHeight > leftHeight + 1) {
+			if (heightOf(right.rightChild) >= heightOf(right.leftChild)) {
+				return new ImmutableNode<E>(right.data, new ImmutableNode<E>(data, left, right.leftChild), right.rightChild);
+			}
+			ImmutableNode<E> middle = right.leftChild;
+			return new ImmutableNode<E>(middle.data, new ImmutableNode<E>(data, left, middle.leftChild),
+					new ImmutableNode<E>(right.data, middle.rightChild, right.rightChild));
+		}
+		return new ImmutableNode<E>(data, left, right);
+	}
+	
+	private static int heightOf(ImmutableNode<?> v) {
+		return v == null ? 0 : v.height;
+	}
+	
+	private static int sizeOf(ImmutableNode<?> v) {
+		return v == null ? 0 : v.subtreeSize;
+	}
+	
+	private static <E> ImmutableNode<E> minimum(ImmutableNode<E> v) {
+		while (v.leftChild != null) {
+			v = v.leftChild;
+		}
+		return v;
+	}
+	
+	private static <E> ImmutableNode<E> maximum(ImmutableNode<E> v) {
+		while (v.rightChild != null) {
+			v = v.rightChild;
+		}
+		return v;
+	}
+	
+	//Wraps a value in a standalone Node for the methods that have to return one
+	private static <E> Node<E> detached(ImmutableNode<E> v) {
+		return v == null ? null : new Node<E>(v.data);
+	}
+	
+	/** Returns a node containing the given value, or null if it isn't in the tree.
+	*   Running time: O(log(n))
+	*/
+	public Node<E> search(E value) {
+		return detached(find(topRoot, value));
+	}
+	
+	/** Same thing as search(E value).
+	*   Running time: O(log(n))
+	*/
+	public Node<E> findNode(E value) {
+		return search(value);
+	}
+	
+	/** Returns true if the value is in the tree. Doesn't allocate.
+	*   Running time: O(log(n))
+	*/
+	public boolean contains(E value) {
+		return find(topRoot, value) != null;
+	}
+	
+	private ImmutableNode<E> find(ImmutableNode<E> v, E value) {
+		while (v != null) {
+			int comparison = compare(value, v.data);
+			if (comparison == 0) {
+				return v;
+			}
+			v = comparison < 0 ? v.leftChild : v.rightChild;
+		}
+		return null;
+	}
+	
+	/** Returns a node containing the minimum value, or null if the tree is empty.
+	*   Running time: O(log(n))
+	*/
+	public Node<E> findMin() {
+		ImmutableNode<E> root = topRoot;
+		return root == null ? null : detached(minimum(root));
+	}
+	
+	/** Returns a node containing the maximum value, or null if the tree is empty.
+	*   Running time: O(log(n))
+	*/
+	public Node<E> findMax() {
+		ImmutableNode<E> root = topRoot;
+		return root == null ? null : detached(maximum(root));
+	}
+	
+	/** Running time: O(1)
+	*   @return the number of values in the tree
+	*/
+	public double size() {
+		return sizeOf(topRoot);
+	}
+	
+	/** Counts the values one at a time. Running time: O(n)
+	*/
+	public double recursiveSize() {
+		double count = 0;
+		for (Iterator<E> itr = iterator(); itr.hasNext(); itr.next()) {
+			count++;
+		}
+		return count;
+	}
+	
+	/** Running time: O(1)
+	*/
+	public boolean isEmpty() {
+		return topRoot == null;
+	}
+	
+	/** Same meaning as BST.numLevels(): the height of the tree, or -1 if it's empty.
+	*   Running time: O(1), every node knows its height
+	*/
+	public int numLevels() {
+		return heightOf(topRoot) - 1;
+	}
+	
+	/** Returns the number of edges on the longest path from the root down. Both an empty tree and a tree
+	*   with one node have height 0.
+	*   Running time: O(1)
+	*/
+	public int height() {
+		return Math.max(heightOf(topRoot) - 1, 0);
+	}
+	
+	/** Running time: O(log(n))
+	*   @return how many values in the tree are less than value
+	*/
+	public int rank(E value) {
+		int rank = 0;
+		ImmutableNode<E> v = topRoot;
+		while (v != null) {
+			if (compare(value, v.data) <= 0) {
+				v = v.leftChild;
+			} else {
+				rank += sizeOf(v.leftChild) + 1;
+				v = v.rightChild;
+			}
+		}
+		return rank;
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the k-th smallest value, counting from 0
+	*   @exception IndexOutOfBoundsException if k < 0 or k >= size()
+	*/
+	public E select(int k) {
+		ImmutableNode<E> v = topRoot;
+		if (k < 0 || k >= sizeOf(v)) {
+			throw new IndexOutOfBoundsException("Error: k must be between 0 and size of tree - 1");
+		}
+		while (true) {
+			int leftSize = sizeOf(v.leftChild);
+			if (k < leftSize) {
+				v = v.leftChild;
+			} else if (k == leftSize) {
+				return v.data;
+			} else {
+				k -= leftSize + 1;
+				v = v.rightChild;
+			}
+		}
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the largest value <= value, or null if there isn't one
+	*/
+	public E floor(E value) {
+		return below(value, true);
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the smallest value >= value, or null if there isn't one
+	*/
+	public E ceiling(E value) {
+		return above(value, true);
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the smallest value > value, or null if there isn't one
+	*/
+	public E higher(E value) {
+		return above(value, false);
+	}
+	
+	/** Running time: O(log(n))
+	*   @return the largest value < value, or null if there isn't one
+	*/
+	public E lower(E value) {
+		return below(value, false);
+	}
+	
+	private E above(E value, boolean inclusive) {
+		E best = null;
+		ImmutableNode<E> v = topRoot;
+		while (v != null) {
+			int comparison = compare(value, v.data);
+			if (comparison == 0 && inclusive) {
+				return v.data;
+			} else if (comparison < 0) {
+				best = v.data;
+				v = v.leftChild;
+			} else {
+				v = v.rightChild;
+			}
+		}
+		return best;
+	}
+	
+	private E below(E value, boolean inclusive) {
+		E best = null;
+		ImmutableNode<E> v = topRoot;
+		while (v != null) {
+			int comparison = compare(value, v.data);
+			if (comparison == 0 && inclusive) {
+				return v.data;
+			} else if (comparison > 0) {
+				best = v.data;
+				v = v.rightChild;
+			} else {
+				v = v.leftChild;
+			}
+		}
+		return best;
+	}
+	
+	/** Prints the preorder traversal of the tree. Running time: O(n)
+	*/
+	public void printPreorder() {
+		System.out.print("Preorder traversal: ");
+		for (Iterator<E> itr = preorderIterator(); itr.hasNext(); ) {
+			System.out.print(" " + itr.next());
+		}
+		System.out.println();
+	}
+	
+	/** Prints the inorder traversal of the tree. Running time: O(n)
+	*/
+	public void printInorder() {
+		System.out.print("Inorder traversal:");
+		for (Iterator<E> itr = inorderIterator(); itr.hasNext(); ) {
+			System.out.print(" " + itr.next());
+		}
+		System.out.println();
+	}
+	
+	/** Prints the postorder traversal of the tree. Running time: O(n)
+	*/
+	public void printPostorder() {
+		System.out.println("Postorder traversal: ");
+		for (Iterator<E> itr = postorderIterator(); itr.hasNext(); ) {
+			System.out.print(" " + itr.next());
+		}
+		System.out.println();
+	}
+	
+	/** Prints the level order traversal of the tree. Running time: O(n)
+	*/
+	public void printLevelOrder() {
+		for (Iterator<E> itr = levelOrderIterator(); itr.hasNext(); ) {
+			System.out.print(itr.next() + " ");
+		}
+	}
+	
+	/** Hands each value to the action in ascending order. It works on the version of the tree that was
+	*   current when it was called, even if the action changes the tree.
+	*   Running time: O(n)
+	*/
+	public void forEachInOrder(Consumer<? super E> action) {
+		for (Iterator<E> itr = inorderIterator(); itr.hasNext(); ) {
+			action.accept(itr.next());
+		}
+	}
+	
+	/** All of the iterators walk the version of the tree that was current when they were created.
+	*   Running time: O(log(n))
+	*   @return an Iterator<E> over the values in ascending order
+	*/
+	public Iterator<E> iterator() {
+		return inorderIterator();
+	}
+	
+	/** Running time: O(log(n))
+	*/
+	public Iterator<E> inorderIterator() {
+		return new InorderIterator(topRoot, null, null);
+	}
+	
+	/** Running time: O(1)
+	*/
+	public Iterator<E> preorderIterator() {
+		return new PreorderIterator(topRoot);
+	}
+	
+	/** Running time: O(log(n))
+	*/
+	public Iterator<E> postorderIterator() {
+		return new PostorderIterator(topRoot);
+	}
+	
+	/** Running time: O(1)
+	*/
+	public Iterator<E> levelOrderIterator() {
+		return new LevelOrderIterator(topRoot);
+	}
+	
+	/** Iterates over the values v with from <= v < to. A null bound means that side is unbounded.
+	*   Running time: O(log(n) + k), where k is the number of values in range
+	*/
+	public Iterator<E> rangeIterator(E from, E to) {
+		return new InorderIterator(topRoot, from, to);
+	}
+	
+	/** A view of the values v with from <= v < to. Each iteration sees the version current at the time.
+	*   Running time: O(1)
+	*/
+	public Iterable<E> subSet(E from, E to) {
+		return () -> rangeIterator(from, to);
+	}
+	
+	/** Running time: O(1)
+	*/
+	public Iterable<E> headSet(E to) {
+		return () -> rangeIterator(null, to);
+	}
+	
+	/** Running time: O(1)
+	*/
+	public Iterable<E> tailSet(E from) {
+		return () -> rangeIterator(from, null);
+	}
+	
+	/** There are no parent pointers to climb, so this keeps the path of nodes whose left subtree we're
+	*   in on a stack. It only ever holds O(log(n)) nodes.
+	*/
+	private class InorderIterator implements Iterator<E> {
+		private ArrayDeque<ImmutableNode<E>> path;
+		private E to;
+		
+		public InorderIterator(ImmutableNode<E> root, E from, E to) {
+			this.path = new ArrayDeque<ImmutableNode<E>>();
+			this.to = to;
+			//push the path to the first value >= from, leaving out nodes that are below the range
+			while (root != null) {
+				if (from != null && compare(from, root.data) > 0) {
+					root = root.rightChild;
+				} else {
+					path.push(root);
+					root = root.leftChild;
+				}
+			}
+		}
+		
+		public boolean hasNext() {
+			return !path.isEmpty() && (to == null || compare(path.peek().data, to) < 0);
+		}
+		
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ImmutableNode<E> v = path.pop();
+			for (ImmutableNode<E> w = v.rightChild; w != null; w = w.leftChild) {
+				path.push(w);
+			}
+			return v.data;
+		}
+	}
+	
+	private class PreorderIterator implements Iterator<E> {
+		private ArrayDeque<ImmutableNode<E>> pending;
+		
+		public PreorderIterator(ImmutableNode<E> root) {
+			pending = new ArrayDeque<ImmutableNode<E>>();
+			if (root != null) {
+				pending.push(root);
+			}
+		}
+		
+		public boolean hasNext() {
+			return !pending.isEmpty();
+		}
+		
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ImmutableNode<E> v = pending.pop();
+			if (v.rightChild != null) {
+				pending.push(v.rightChild);
+			}
+			if (v.leftChild != null) {
+				pending.push(v.leftChild);
+			}
+			return v.data;
+		}
+	}
+	
+	/** Keeps the path from the root to the next node on a stack. When we pop a node, its parent is on top,
+	*   and if we came up from the left we still owe the parent's right subtree.
+	*/
+	private class PostorderIterator implements Iterator<E> {
+		private ArrayDeque<ImmutableNode<E>> path;
+		
+		public PostorderIterator(ImmutableNode<E> root) {
+			path = new ArrayDeque<ImmutableNode<E>>();
+			descend(root);
+		}
+		
+		//pushes the path to the first node of a postorder walk of v
+		private void descend(ImmutableNode<E> v) {
+			while (v != null) {
+				path.push(v);
+				v = v.leftChild != null ? v.leftChild : v.rightChild;
+			}
+		}
+		
+		public boolean hasNext() {
+			return !path.isEmpty();
+		}
+		
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ImmutableNode<E> v = path.pop();
+			if (!path.isEmpty() && path.peek().leftChild == v) {
+				descend(path.peek().rightChild);
+			}
+			return v.data;
+		}
+	}
+	
+	private class LevelOrderIterator implements Iterator<E> {
+		private ArrayDeque<ImmutableNode<E>> queue;
+		
+		public LevelOrderIterator(ImmutableNode<E> root) {
+			queue = new ArrayDeque<ImmutableNode<E>>();
+			if (root != null) {
+				queue.add(root);
+			}
+		}
+		
+		public boolean hasNext() {
+			return !queue.isEmpty();
+		}
+		
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ImmutableNode<E> v = queue.remove();
+			if (v.leftChild != null) {
+				queue.add(v.leftChild);
+			}
+			if (v.rightChild != null) {
+				queue.add(v.rightChild);
+			}
+			return v.data;
+		}
+	}
+}
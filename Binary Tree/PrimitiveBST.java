@@ -0,0 +1,329 @@
+import java.util.Arrays;
+
+/** The part of IntBST and LongBST that doesn't care what type the keys are. Instead of Node objects,
+*   a node here is just an index into a handful of parallel arrays (left, right, parent and color), and
+*   the subclasses keep the keys in one more array of the right primitive type. That way a node costs a
+*   few bytes in arrays instead of an object with a header and four references, nothing is boxed, and
+*   walking down the tree reads from a few arrays instead of jumping around the heap.
+*   The balancing is the same red-black scheme BST uses. Index 0 is a sentinel that stands in for every
+*   null child, which saves a lot of null checks. Slots freed by delete go on a free list, and the next
+*   add reuses them before the arrays grow.
+*   @author Daniel Vilinsky
+*/
+abstract class PrimitiveBST {
+	protected static final int NIL = 0; //the sentinel. It is always black
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	protected int[] left, right, parent;
+	protected boolean[] red;
+	protected int root;
+	protected int size;
+	private int used; //slots 1..used-1 have been handed out at some point
+	private int free; //head of the free list, which is chained through left[]. NIL if it's empty
+	
+	/** Running time: O(capacity)
+	*   @param capacity how many keys to make room for before the arrays have to grow
+	*/
+	protected PrimitiveBST(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Error: capacity can't be negative");
+		}
+		int slots = Math.max(capacity, DEFAULT_CAPACITY) + 1; //+1 for the sentinel
+		left = new int[slots];
+		right = new int[slots];
+		parent = new int[slots];
+		red = new boolean[slots];
+		clear();
+	}
+	
+	//Subclasses grow their key array to the given length when the node arrays grow
+	protected abstract void growKeys(int capacity);
+	
+	/** Running time: O(1)
+	*   @return the number of keys in the tree
+	*/
+	public int size() {
+		return size;
+	}
+	
+	/** Running time: O(1)
+	*   @return true if the tree is empty, false otherwise
+	*/
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/** Empties the tree. The arrays keep their size.
+	*   Running time: O(1)
+	*/
+	public void clear() {
+		root = NIL;
+		size = 0;
+		used = 1;
+		free = NIL;
+		red[NIL] = false;
+	}
+	
+	/** Returns the height of the tree, the number of edges on the longest path from the root down. An
+	*   empty tree, as well as one with one node, has a height of 0. Like BST.height() this walks the tree
+	*   using the parent links, so it doesn't recurse.
+	*   Running time: O(n)
+	*/
+	public int height() {
+		if (root == NIL) {
+			return 0;
+		}
+		int v = root, depth = 0, deepest = 0;
+		while (true) {
+			if (left[v] != NIL) {
+				v = left[v];
+				depth++;
+			} else if (right[v] != NIL) {
+				v = right[v];
+				depth++;
+			} else {
+				deepest = Math.max(deepest, depth);
+				while (v != root && (v == right[parent[v]] || right[parent[v]] == NIL)) {
+					v = parent[v];
+					depth--;
+				}
+				if (v == root) {
+					return deepest;
+				}
+				v = right[parent[v]];
+			}
+		}
+	}
+	
+	//Hands out a slot for a new node, from the free list if possible. The caller stores the key
+	protected int allocate() {
+		int v;
+		if (free != NIL) {
+			v = free;
+			free = left[v];
+		} else {
+			if (used == left.length) {
+				int capacity = left.length * 2;
+				left = Arrays.copyOf(left, capacity);
+				right = Arrays.copyOf(right, capacity);
+				parent = Arrays.copyOf(parent, capacity);
+				red = Arrays.copyOf(red, capacity);
+				growKeys(capacity);
+			}
+			v = used++;
+		}
+		left[v] = NIL;
+		right[v] = NIL;
+		red[v] = true;
+		return v;
+	}
+	
+	//Links the freshly allocated node v in as a child of p (or as the root if p is NIL) and rebalances
+	protected void link(int v, int p, boolean asLeftChild) {
+		parent[v] = p;
+		if (p == NIL) {
+			root = v;
+		} else if (asLeftChild) {
+			left[p] = v;
+		} else {
+			right[p] = v;
+		}
+		size++;
+		while (red[parent[v]]) {
+			int up = parent[v];
+			int grandparent = parent[up];
+			if (up == left[grandparent]) {
+				int uncle = right[grandparent];
+				if (red[uncle]) {
+					red[up] = false;
+					red[uncle] = false;
+					red[grandparent] = true;
+					v = grandparent;
+				} else {
+					if (v == right[up]) {
+						v = up;
+						rotateLeft(v);
+						up = parent[v];
+					}
+					red[up] = false;
+					red[grandparent] = true;
+					rotateRight(grandparent);
+				}
+			} else {
+				int uncle = left[grandparent];
+				if (red[uncle]) {
+					red[up] = false;
+					red[uncle] = false;
+					red[grandparent] = true;
+					v = grandparent;
+				} else {
+					if (v == left[up]) {
+						v = up;
+						rotateRight(v);
+						up = parent[v];
+					}
+					red[up] = false;
+					red[grandparent] = true;
+					rotateLeft(grandparent);
+				}
+			}
+		}
+		red[root] = false;
+	}
+	
+	//Takes node z out of the tree, rebalances, and puts its slot on the free list. Nodes are moved by
+	//relinking, never by copying keys, so this doesn't need to know about the key array.
+	protected void unlink(int z) {
+		int y = z;
+		boolean removedRed = red[y];
+		int x;
+		if (left[z] == NIL) {
+			x = right[z];
+			transplant(z, x);
+		} else if (right[z] == NIL) {
+			x = left[z];
+			transplant(z, x);
+		} else {
+			y = minimum(right[z]);
+			removedRed = red[y];
+			x = right[y];
+			if (parent[y] == z) {
+				parent[x] = y; //x might be the sentinel, whose parent the fixup needs
+			} else {
+				transplant(y, x);
+				right[y] = right[z];
+				parent[right[y]] = y;
+			}
+			transplant(z, y);
+			left[y] = left[z];
+			parent[left[y]] = y;
+			red[y] = red[z];
+		}
+		if (!removedRed) {
+			unlinkFixup(x);
+		}
+		size--;
+		left[z] = free;
+		free = z;
+	}
+	
+	private void unlinkFixup(int x) {
+		while (x != root && !red[x]) {
+			int up = parent[x];
+			if (x == left[up]) {
+				int sibling = right[up];
+				if (red[sibling]) {
+					red[sibling] = false;
+					red[up] = true;
+					rotateLeft(up);
+					sibling = right[up];
+				}
+				if (!red[left[sibling]] && !red[right[sibling]]) {
+					red[sibling] = true;
+					x = up;
+				} else {
+					if (!red[right[sibling]]) {
+						red[left[sibling]] = false;
+						red[sibling] = true;
+						rotateRight(sibling);
+						sibling = right[up];
+					}
+					red[sibling] = red[up];
+					red[up] = false;
+					red[right[sibling]] = false;
+					rotateLeft(up);
+					x = root;
+				}
+			} else {
+				int sibling = left[up];
+				if (red[sibling]) {
+					red[sibling] = false;
+					red[up] = true;
+					rotateRight(up);
+					sibling = left[up];
+				}
+				if (!red[left[sibling]] && !red[right[sibling]]) {
+					red[sibling] = true;
+					x = up;
+				} else {
+					if (!red[left[sibling]]) {
+						red[right[sibling]] = false;
+						red[sibling] = true;
+						rotateLeft(sibling);
+						sibling = left[up];
+					}
+					red[sibling] = red[up];
+					red[up] = false;
+					red[left[sibling]] = false;
+					rotateRight(up);
+					x = root;
+				}
+			}
+		}
+		red[x] = false;
+	}
+	
+	//Puts v in the spot in the tree that u occupies. v may be the sentinel
+	private void transplant(int u, int v) {
+		int p = parent[u];
+		if (p == NIL) {
+			root = v;
+		} else if (u == left[p]) {
+			left[p] = v;
+		} else {
+			right[p] = v;
+		}
+		parent[v] = p;
+	}
+	
+	private void rotateLeft(int v) {
+		int r = right[v];
+		right[v] = left[r];
+		if (left[r] != NIL) {
+			parent[left[r]] = v;
+		}
+		transplant(v, r);
+		left[r] = v;
+		parent[v] = r;
+	}
+	
+	private void rotateRight(int v) {
+		int l = left[v];
+		left[v] = right[l];
+		if (right[l] != NIL) {
+			parent[right[l]] = v;
+		}
+		transplant(v, l);
+		right[l] = v;
+		parent[v] = l;
+	}
+	
+	//Returns the leftmost node of the subtree rooted at v
+	protected int minimum(int v) {
+		while (left[v] != NIL) {
+			v = left[v];
+		}
+		return v;
+	}
+	
+	//Returns the rightmost node of the subtree rooted at v
+	protected int maximum(int v) {
+		while (right[v] != NIL) {
+			v = right[v];
+		}
+		return v;
+	}
+	
+	//Returns the node after v in order, or NIL if v is the last one. Same idea as Node.successor()
+	protected int successor(int v) {
+		if (right[v] != NIL) {
+			return minimum(right[v]);
+		}
+		int p = parent[v];
+		while (p != NIL && v == right[p]) {
+			v = p;
+			p = parent[p];
+		}
+		return p;
+	}
+}
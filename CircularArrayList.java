@@ -0,0 +1,359 @@
+import java.util.*;
+import java.util.function.Predicate;
+
+/** An implementation of MyList that keeps its elements in an array instead of in nodes. The array is
+*   used as a ring: the list starts at index head and wraps around the end of the array back to the
+*   start. That way adding or removing at either end is O(1)- the front just moves head back or forward,
+*   so nothing has to be shifted. Adding in the middle shifts whichever side of the index is shorter.
+*   When the array fills up it doubles, so adds are O(1) amortized.
+*   Compared to DoublyLinkedList there's no node per element, just one reference in one array, so the
+*   list takes a third of the memory, get(i) and set(i) are O(1), and walking the list reads memory in
+*   order instead of jumping around the heap.
+*   The array's length is always a power of 2, so wrapping an index around is a bitwise and instead of a %.
+*   @author Daniel Vilinsky
+*/
+public class CircularArrayList<E extends Comparable<E>> implements MyList<E> {
+	private static final int DEFAULT_CAPACITY = 16;
+	private Object[] elements;
+	private int head; //index in elements of the front of the list
+	private int size;
+	
+	/** Constructor for this class.
+	*   Running time: O(1)
+	*/
+	public CircularArrayList() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/** Constructs an empty list with room for capacity elements before it has to grow.
+	*   Running time: O(capacity)
+	*   @param capacity how many elements to make room for
+	*   @exception IllegalArgumentException if capacity < 0
+	*/
+	public CircularArrayList(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Error: capacity can't be negative");
+		}
+		//round up to a power of 2, but at least 2
+		elements = new Object[Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1];
+		head = 0;
+		size = 0;
+	}
+	
+	//where the element at the given list index lives in the array
+	private int slot(int index) {
+		return (head + index) & (elements.length - 1);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private E elementAt(int index) {
+		return (E) elements[slot(index)];
+	}
+	
+	//Doubles the array, unwrapping the list so it starts at 0 again
+	private void grow() {
+		Object[] bigger = new Object[elements.length * 2];
+		for (int i = 0; i < size; i++) {
+			bigger[i] = elements[slot(i)];
+		}
+		elements = bigger;
+		head = 0;
+	}
+	
+	/** Appends data to the end of the list.
+	*   Running time: O(1) amortized
+	*   @param data the data to insert
+	*/
+	public void add(E data) {
+		if (size == elements.length) {
+			grow();
+		}
+		elements[slot(size)] = data;
+		size++;
+	}
+	
+	/** Inserts data at the given index, shifting the elements on the shorter side of it over by one. Like
+	*   DoublyLinkedList, index can be size, which appends.
+	*   Running time: O(min(index, size - index)), so O(1) amortized at either end
+	*   @param index the location in the list to add the data
+	*   @param data the data to insert
+	*   @exception IndexOutOfBoundsException if index < 0 or index > size of list
+	*/
+	public void add(int index, E data) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Error: Index must be between 0 and size of list");
+		}
+		if (size == elements.length) {
+			grow();
+		}
+		if (index < size / 2) {
+			//move the front of the list back one slot
+			head = (head - 1) & (elements.length - 1);
+			for (int i = 0; i < index; i++) {
+				elements[slot(i)] = elements[slot(i + 1)];
+			}
+		} else {
+			for (int i = size; i > index; i--) {
+				elements[slot(i)] = elements[slot(i - 1)];
+			}
+		}
+		elements[slot(index)] = data;
+		size++;
+	}
+	
+	/** Assuming that the list is already sorted, inserts data so that it stays sorted. Since get() is O(1)
+	*   the spot can be found with a binary search. It goes in the same spot DoublyLinkedList.addSorted would
+	*   put it: before the first element that isn't smaller, but after the first element if it's equal to it.
+	*   Running time: O(log(n)) to find the spot, plus O(n) to shift
+	*   @param data the data to be inserted into the list
+	*/
+	public void addSorted(E data) {
+		if (isEmpty() || data.compareTo(elementAt(0)) < 0) {
+			add(0, data);
+			return;
+		}
+		int low = 1, high = size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (elementAt(middle).compareTo(data) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		add(low, data);
+	}
+	
+	/** Set the element at a given index to data
+	*   Running time: O(1)
+	*   @param index the location in the list of the element to change
+	*   @param data the new data value
+	*   @exception IndexOutOfBoundsException if index < 0 || index >= size()
+	*/
+	public void set(int index, E data) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Error: Index must be between 0 and length of list");
+		}
+		elements[slot(index)] = data;
+	}
+	
+	/** Removes the given value from the list if it is in the list. Does nothing otherwise
+	*   Running time: O(n)
+	*   @param value the element to be removed
+	*/
+	public void remove(E value) {
+		int where = indexOf(value);
+		if (where != -1) {
+			removeAt(where);
+		}
+	}
+	
+	/** Removes every element the filter says yes to. The elements that stay get packed down toward the
+	*   front, so each one moves at most once, instead of shifting the rest of the list once per
+	*   removed element. The filter sees every element before anything moves, so if it throws, the
+	*   list is left the way it was.
+	*   Running time: O(n)
+	*   @param filter says which elements to remove
+	*   @return true if anything was removed
+	*/
+	public boolean removeIf(Predicate<? super E> filter) {
+		BitSet doomed = new BitSet(size);
+		for (int i = 0; i < size; i++) {
+			if (filter.test(elementAt(i))) {
+				doomed.set(i);
+			}
+		}
+		if (doomed.isEmpty()) {
+			return false;
+		}
+		int kept = 0;
+		for (int i = 0; i < size; i++) {
+			if (!doomed.get(i)) {
+				elements[slot(kept++)] = elements[slot(i)];
+			}
+		}
+		for (int i = kept; i < size; i++) {
+			elements[slot(i)] = null; //so the garbage collector can have them
+		}
+		size = kept;
+		return true;
+	}
+	
+	/** Removes the element at the given index, shifting the elements on the shorter side of it over by one.
+	*   Running time: O(min(index, size - index)), so O(1) at either end
+	*   @param index of element to remove
+	*   @exception IndexOutOfBoundsException if index < 0 || index >= size()
+	*/
+	public void removeAt(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Error: Can only remove between 0 and length of list");
+		}
+		if (index < size / 2) {
+			for (int i = index; i > 0; i--) {
+				elements[slot(i)] = elements[slot(i - 1)];
+			}
+			elements[head] = null; //so the garbage collector can have it
+			head = (head + 1) & (elements.length - 1);
+		} else {
+			for (int i = index; i < size - 1; i++) {
+				elements[slot(i)] = elements[slot(i + 1)];
+			}
+			elements[slot(size - 1)] = null;
+		}
+		size--;
+	}
+	
+	/** Running time: O(1)
+	*   @return the size of this list
+	*/
+	public int size() {
+		return size;
+	}
+	
+	/** Running time: O(1)
+	*   @param index the index of the element you want
+	*   @return that element
+	*   @exception IndexOutOfBoundsException if index < 0 || index >= size()
+	*/
+	public E get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Error: Index must be between 0 and length of list");
+		}
+		return elementAt(index);
+	}
+	
+	/** Running time: O(n)
+	*   @param data the element to be searched for
+	*   @return the index of data if it's in the list, -1 otherwise
+	*/
+	public int indexOf(E data) {
+		for (int i = 0; i < size; i++) {
+			if (elementAt(i).equals(data)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/** Running time: O(n)
+	*   @param data the element to search for
+	*   @return true if that element is in the list
+	*/
+	public boolean contains(E data) {
+		return indexOf(data) != -1;
+	}
+	
+	/** Gives a string representation of this list of the form [e1, e2, ... eN], like DoublyLinkedList.
+	*   Running time: See DoublyLinkedList.toString()
+	*   @return A string representation of this list
+	*/
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(elementAt(i));
+		}
+		return sb.append("]").toString();
+	}
+	
+	/** Running time: O(1)
+	*   @return true if list is empty, false otherwise
+	*/
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/** Empties the list. The array keeps its length.
+	*   Running time: O(n), since the old elements have to be let go of for the garbage collector
+	*/
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			elements[slot(i)] = null;
+		}
+		head = 0;
+		size = 0;
+	}
+	
+	/** Returns an iterator over this list
+	*   Running time: O(1)
+	*   @return Iterator<E> over the list
+	*/
+	public Iterator<E> iterator() {
+		return new CALIterator();
+	}
+	
+	/** Returns an endless iterator over this list, see DoublyLinkedList.endlessIterator()
+	*   Running time: O(1)
+	*   @return a MyIterator<E> over this list
+	*/
+	public MyIterator<E> endlessIterator() {
+		return new EndlessIterator();
+	}
+	
+	private class CALIterator implements Iterator<E> {
+		private int next; //index of the element next() returns
+		private boolean removeOK;
+		
+		public CALIterator() {
+			next = 0;
+			removeOK = false;
+		}
+		
+		public boolean hasNext() {
+			return next < size;
+		}
+		
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			removeOK = true;
+			return elementAt(next++);
+		}
+		
+		/** Removes the element next() returned last. Everything after it shifts down, so the iterator
+		*   steps back one too.
+		*   Running time: O(min(index, size - index))
+		*   @exception IllegalStateException if next() hasn't been called since the last remove
+		*/
+		public void remove() {
+			if (!removeOK) {
+				throw new IllegalStateException();
+			}
+			removeOK = false;
+			removeAt(--next);
+		}
+	}
+	
+	/** An endless iterator is one that allows a client to keep calling next() as long as the list is not
+	*   empty. next() gives back the current element, and advance() moves forward or back, wrapping around
+	*   at the ends. It goes by index, so it shouldn't be used across adds and removes.
+	*/
+	private class EndlessIterator implements MyIterator<E> {
+		private int current;
+		
+		public EndlessIterator() {
+			current = 0;
+		}
+		
+		public boolean hasNext() {
+			return !isEmpty();
+		}
+		
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return elementAt(current % size);
+		}
+		
+		public void advance(boolean direction) {
+			if (isEmpty()) {
+				return;
+			}
+			current = direction ? (current + 1) % size : (current + size - 1) % size;
+		}
+	}
+}
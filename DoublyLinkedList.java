@@ -1,4 +1,8 @@
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /** Implementation of a node for a doubly linked list. I have the extends Comparable<E> so that the 
 *   addSorted method in the linked list class works. 
@@ -57,47 +61,377 @@ class Node<E extends Comparable<E>> {
 
 /**This class is an implementation of a doubly-linked, circular list 
 * It is circular in both directions
+* Since the list is circular, front.previous is the last node, so the end of the list is as close as the 
+* front. Getting to index i walks from whichever end is closer. On top of that the list remembers the 
+* last node it walked to and its index (a "finger"), and starts from there when that's closer still, so 
+* a loop that calls get(i) for i = 0, 1, 2, ... only takes one step per call. 
+* A list made with DoublyLinkedList(true) is a sorted list. It keeps a skip list on top of its nodes, 
+* which lets addSorted, contains, indexOf and remove(E) find their spot in expected O(log(n)) instead of 
+* walking the list. See the comment on Tower. 
+* setNodePoolSize() turns on node recycling, for lists that have things added and removed all the time. 
 * @author Daniel Vilinsky
 */
 public class DoublyLinkedList<E extends Comparable<E>> implements MyList<E> {
+	private static final int MAX_LEVEL = 16; //enough for 4^16 elements, since a quarter of the towers on a level reach the next one 
+	private static final int INDEX_OK = 0, INDEX_STALE = 1, INDEX_UNSORTED = 2;
+	
 	private Node<E> front; 
 	private int size; 
+	private Node<E> cacheNode; //the last node nodeAt() walked to 
+	private int cacheIndex; //cacheNode's index, or -1 if nothing is cached 
+	private boolean sorted; //true if this list keeps a skip list 
+	private Tower<E> skipHead; //start of every level of the skip list. Only used if sorted 
+	private int indexState; //INDEX_OK if the skip list matches the list, INDEX_STALE if it has to be rebuilt, INDEX_UNSORTED if the list isn't in order 
+	private Random random; //for picking tower heights 
+	private Tower<E>[] update; //scratch space for the skip list: the last tower before some index on each level... 
+	private int[] updateIndex; //...and the index of each of those towers' nodes 
+	private int modCount; //goes up every time a node is linked in or out, so iterators can tell the list changed under them 
+	private Node<E> pool; //removed nodes waiting to be reused, chained together through next 
+	private int pooled; //how many nodes are in the pool 
+	private int poolCapacity; //most nodes the pool will hold. 0 means nodes aren't recycled 
 	
 	/** Constructor for this class. 
 	*   Running time: O(1)
 	*/
 	public DoublyLinkedList() {
+		this(false);
+	}
+	
+	/** Constructs a list that, if sorted is true, expects to be kept in sorted order with addSorted, and 
+	*   keeps a skip list over its nodes so that addSorted, contains, indexOf and remove(E) take expected 
+	*   O(log(n)). Everything in MyList still works, and iteration order is the list order as always. 
+	*   The other ways of adding (add, set, splice, removeIf) can put things out of order, so they just 
+	*   throw the skip list away, and it is rebuilt in O(n) the next time it's needed. If the list turns 
+	*   out not to be in order then, the methods fall back to walking the list like a normal one. 
+	*   The skip list goes by compareTo, so for contains and indexOf to find a value, compareTo has to be 
+	*   consistent with equals. 
+	*   Running time: O(1)
+	*   @param sorted true to make this a sorted list 
+	*/
+	public DoublyLinkedList(boolean sorted) {
 		front = null;
 		size = 0;
+		cacheNode = null;
+		cacheIndex = -1;
+		this.sorted = sorted;
+		if (sorted) {
+			random = new Random();
+			@SuppressWarnings("unchecked")
+			Tower<E>[] towers = (Tower<E>[]) new Tower<?>[MAX_LEVEL + 1];
+			update = towers;
+			updateIndex = new int[MAX_LEVEL + 1];
+			skipHead = new Tower<E>(null, MAX_LEVEL);
+			indexState = INDEX_OK;
+		}
 	}
 	
-	/** Appends a new Node<E> containing the given data to end of list 
-	*   Running time: O(n), where n is the length of the list 
+	/** Appends a new Node<E> containing the given data to end of list. The end is right before front, 
+	*   so there's no need to walk there. In a sorted list, a value that isn't smaller than the last one 
+	*   keeps the list in order, so it goes into the skip list too. 
+	*   Running time: O(1), or expected O(log(n)) in a sorted list 
 	*   @param data the data to insert 
 	*/
 	public void add(E data) {
+		//only a sorted list compares, so a plain one can hold anything, null included 
+		boolean inOrder = sorted && indexState == INDEX_OK 
+			&& (isEmpty() || front.previous.data.compareTo(data) <= 0);
+		Node<E> added = linkBefore(front, data, size);
+		if (inOrder) {
+			towerInsert(added, size - 1);
+		} else {
+			indexChanged();
+		}
+	}
+	
+	/** A skip list over the nodes. Level 0 is the list itself. On top of that, some nodes get a tower 
+	*   of links that skip ahead: about a quarter of the nodes have a link on level 1, a quarter of those 
+	*   have one on level 2, and so on. A search starts on the top level of skipHead, moves right while 
+	*   the next tower's value is too small, then drops a level, so it only makes a few moves per level. 
+	*   Once it runs out of levels it walks the last few nodes on level 0. Each link also remembers how 
+	*   many places in the list it skips (its width), which is how a search knows the index it's at. 
+	*/
+	private static class Tower<E extends Comparable<E>> {
+		public Node<E> node; //null for skipHead, which sits before index 0 
+		public Tower<E>[] next; //next[level] is the next tower at least that tall, or null. next[0] isn't used 
+		public int[] width; //width[level] is how many indexes next[level] is ahead of this one 
+		
+		public Tower(Node<E> node, int height) {
+			this.node = node;
+			@SuppressWarnings("unchecked")
+			Tower<E>[] next = (Tower<E>[]) new Tower<?>[height + 1];
+			this.next = next;
+			this.width = new int[height + 1];
+		}
+	}
+	
+	//Picks how tall a new tower is. 0 (no tower at all) three quarters of the time 
+	private int randomHeight() {
+		int height = 0;
+		while (height < MAX_LEVEL && random.nextInt(4) == 0) {
+			height++;
+		}
+		return height;
+	}
+	
+	//Fills in update and updateIndex with the last tower before the given index on every level. 
+	//skipHead counts as being at index -1 
+	private void findTowersBefore(int index) {
+		Tower<E> t = skipHead;
+		int at = -1;
+		for (int level = MAX_LEVEL; level >= 1; level--) {
+			while (t.next[level] != null && at + t.width[level] < index) {
+				at += t.width[level];
+				t = t.next[level];
+			}
+			update[level] = t;
+			updateIndex[level] = at;
+		}
+	}
+	
+	//Returns the index of the first node whose data isn't smaller than value (size if there isn't one), 
+	//and leaves that node in the finger cache so nodeAt() can get to it right away. The list has to be 
+	//in order and the skip list up to date 
+	private int lowerBound(E value) {
+		Tower<E> t = skipHead;
+		int at = -1;
+		for (int level = MAX_LEVEL; level >= 1; level--) {
+			while (t.next[level] != null && t.next[level].node.data.compareTo(value) < 0) {
+				at += t.width[level];
+				t = t.next[level];
+			}
+		}
+		Node<E> current = t == skipHead ? front : t.node.next;
+		at++;
+		while (at < size && current.data.compareTo(value) < 0) {
+			current = current.next;
+			at++;
+		}
+		if (at < size) {
+			cacheNode = current;
+			cacheIndex = at;
+		}
+		return at;
+	}
+	
+	//Gives the node that was just linked in at index a tower, maybe. The towers after it have to count 
+	//one more place to get to 
+	private void towerInsert(Node<E> v, int index) {
+		findTowersBefore(index);
+		int height = randomHeight();
+		Tower<E> t = height == 0 ? null : new Tower<E>(v, height);
+		for (int level = 1; level <= MAX_LEVEL; level++) {
+			Tower<E> before = update[level];
+			if (level <= height) {
+				t.next[level] = before.next[level];
+				if (t.next[level] != null) {
+					t.width[level] = updateIndex[level] + before.width[level] + 1 - index;
+				}
+				before.next[level] = t;
+				before.width[level] = index - updateIndex[level];
+			} else if (before.next[level] != null) {
+				before.width[level]++;
+			}
+		}
+	}
+	
+	//Takes the node at index out of the skip list, before it's unlinked from the list 
+	private void towerRemove(int index) {
+		findTowersBefore(index);
+		for (int level = 1; level <= MAX_LEVEL; level++) {
+			Tower<E> before = update[level];
+			Tower<E> next = before.next[level];
+			if (next == null) {
+				continue;
+			}
+			if (updateIndex[level] + before.width[level] == index) {
+				//next is the tower of the node being removed, so skip over it 
+				before.next[level] = next.next[level];
+				before.width[level] += next.width[level] - 1;
+			} else {
+				before.width[level]--;
+			}
+		}
+	}
+	
+	//Called when the list changed in a way the skip list didn't follow 
+	private void indexChanged() {
+		if (sorted && indexState != INDEX_STALE) {
+			indexState = INDEX_STALE;
+			skipHead = new Tower<E>(null, MAX_LEVEL); //let the old towers go 
+		}
+	}
+	
+	//Returns true if the skip list can be used, rebuilding it first if it's stale. Rebuilding walks the 
+	//list once, checking that it's in order and handing out towers as it goes 
+	private boolean indexReady() {
+		if (!sorted) {
+			return false;
+		}
+		if (indexState == INDEX_STALE) {
+			indexState = INDEX_OK;
+			for (int level = 1; level <= MAX_LEVEL; level++) {
+				update[level] = skipHead;
+				updateIndex[level] = -1;
+			}
+			Node<E> current = front;
+			for (int i = 0; i < size; i++, current = current.next) {
+				if (i > 0 && current.previous.data.compareTo(current.data) > 0) {
+					indexState = INDEX_UNSORTED;
+					skipHead = new Tower<E>(null, MAX_LEVEL);
+					break;
+				}
+				int height = randomHeight();
+				if (height > 0) {
+					Tower<E> t = new Tower<E>(current, height);
+					for (int level = 1; level <= height; level++) {
+						update[level].next[level] = t;
+						update[level].width[level] = i - updateIndex[level];
+						update[level] = t;
+						updateIndex[level] = i;
+					}
+				}
+			}
+		}
+		return indexState == INDEX_OK;
+	}
+	
+	/** Returns the node at the given index, which has to be in bounds. Starts from the front, the back, 
+	*   or the cached node, whichever is closest, and then caches the node it ends up at. 
+	*   Running time: O(min(index, size - index, |index - last index used|))
+	*/
+	private Node<E> nodeAt(int index) {
 		Node<E> current = front;
-		if (front == null) {
-			front = new Node<E>(data);
-			front.next = front;
-			front.previous = front; 
+		int at = 0;
+		if (size - 1 - index < index) {
+			current = front.previous;
+			at = size - 1;
+		}
+		if (cacheIndex != -1 && Math.abs(cacheIndex - index) < Math.abs(at - index)) {
+			current = cacheNode;
+			at = cacheIndex;
+		}
+		while (at < index) {
+			current = current.next;
+			at++;
+		}
+		while (at > index) {
+			current = current.previous;
+			at--;
+		}
+		cacheNode = current;
+		cacheIndex = index;
+		return current;
+	}
+	
+	/** Puts a new node holding data right before successor, so that it ends up at the given index. 
+	*   Passing front with index == size appends. If the list is empty successor is ignored. 
+	*   Running time: O(1)
+	*   @return the new node 
+	*/
+	private Node<E> linkBefore(Node<E> successor, E data, int index) {
+		Node<E> temp;
+		if (isEmpty()) {
+			temp = newNode(data, null, null);
+			temp.next = temp;
+			temp.previous = temp;
+			front = temp;
 		} else {
-			while (current.next != front) { //if current.next == front, we've reached the end of the list- it is looping back around 
-				current = current.next;
+			temp = newNode(data, successor, successor.previous);
+			successor.previous.next = temp;
+			successor.previous = temp;
+			if (index == 0) {
+				front = temp;
 			}
-			current.next = new Node<E>(data);
-			current.next.previous = current;
-			current.next.next = front; //we've hit end so loop it around
-			front.previous = current.next;
+		}
+		if (cacheIndex >= index) {
+			cacheIndex++; //the cached node got pushed back one spot 
 		}
 		size++;
+		modCount++;
+		return temp;
+	}
+	
+	/** Takes the node v, which is at the given index, out of the list. 
+	*   Running time: O(1)
+	*/
+	private void unlink(Node<E> v, int index) {
+		if (size == 1) {
+			clear();
+			recycle(v);
+			return; //clear() reduced size to 0, so we don't want to decrement it again below 
+		}
+		v.previous.next = v.next;
+		v.next.previous = v.previous;
+		if (v == front) {
+			front = v.next; //advance front one space
+		}
+		size--;
+		modCount++;
+		if (cacheIndex == index) {
+			//the node after v slides into v's index, unless v was the last one 
+			cacheNode = v.next;
+			cacheIndex = index < size ? index : -1;
+		} else if (cacheIndex > index) {
+			cacheIndex--;
+		}
+		//v's own links are left alone, so an endless iterator sitting on v can still step off of it. Unless 
+		//v gets recycled- see setNodePoolSize() 
+		recycle(v);
+	}
+	
+	/** Makes the list hold on to up to capacity of the nodes it removes, and reuse them for the next 
+	*   things that get added instead of creating new nodes. A list that things keep going through, like a 
+	*   queue, then stops making garbage once it gets going. Recycled nodes have their data set to null, so 
+	*   the pool doesn't keep anything alive that was removed from the list. 
+	*   Since a recycled node gets new links, an endless iterator that's sitting on a node when it's 
+	*   removed can't step off of it anymore. Don't turn this on for lists that need that. 
+	*   Running time: O(1), or O(number of pooled nodes let go) if the pool shrinks 
+	*   @param capacity most removed nodes to keep around. 0, the default, turns recycling off 
+	*   @exception IllegalArgumentException if capacity < 0 
+	*/
+	public void setNodePoolSize(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Error: pool size can't be negative");
+		}
+		poolCapacity = capacity;
+		while (pooled > capacity) {
+			Node<E> spare = pool;
+			pool = spare.next;
+			spare.next = null;
+			pooled--;
+		}
+	}
+	
+	//Gives a node from the pool if there is one, or a brand new one if not 
+	private Node<E> newNode(E data, Node<E> next, Node<E> previous) {
+		if (pool == null) {
+			return new Node<E>(data, next, previous);
+		}
+		Node<E> v = pool;
+		pool = v.next;
+		pooled--;
+		v.data = data;
+		v.next = next;
+		v.previous = previous;
+		return v;
+	}
+	
+	//Puts a node that was just unlinked into the pool, if there's room 
+	private void recycle(Node<E> v) {
+		if (pooled < poolCapacity) {
+			v.data = null; //so the garbage collector can have it 
+			v.previous = null;
+			v.next = pool;
+			pool = v;
+			pooled++;
+		}
 	}
 	
 	/** Inserts a new Node<E> with the given data at the given index. A user will call this 
 	*   method when saying to themself "I want a node with "data" to appear at "index"". That's 
 	*   why you can write add(5, somevalue), in a list of length 5, even though 5 is technically 
 	*   "out of bounds".
-	*   Running time: O(n), where n is the length of the list 
+	*   Running time: O(min(index, size - index)), or O(1) near the last index used 
 	*   @param index the location in the list to add the data 
 	*   @param data the datat to insert 
 	*   @exception IndexOutOfBoundsException if index <0 or index > size of list 
@@ -106,40 +440,29 @@ public class DoublyLinkedList<E extends Comparable<E>> implements MyList<E> {
 		if (index < 0 || index > size) {
 			throw new IndexOutOfBoundsException("Error: Index must be between 0 and size of list - 1");
 		}
-		if (index == 0 && !isEmpty()) { //add to front of list 
-			Node<E> temp = new Node<E>(data);
-			temp.next = front; 
-			temp.previous = front.previous;
-			front.previous.next = temp;
-			front.previous = temp;
-			front = temp;
-			size++;
-		} else if (isEmpty()) {
-			add(data); //adding to the front of empty list is the same as adding to the end of it
-		} else { //add somewhere in the middle 
-			Node<E> current = front;
-			for (int i = 0; i < index - 1; i++) {
-				current = current.next;
-			}
-			Node<E> temp = new Node<E>(data);
-			temp.next = current.next;
-			temp.previous = current;
-			current.next.previous = temp;
-			current.next = temp;
-			size++;
-		}
+		//adding at index size is adding to the end, which is right before front 
+		linkBefore(index == size ? front : nodeAt(index), data, index);
+		indexChanged();
 	}
 	
 	/** Assuming that the list is already sorted, insert a Node<E> containing
 	*   the given value such that the sorted order is maintained.
-	*   Running time: O(n)
+	*   Running time: O(n), or expected O(log(n)) in a sorted list 
 	*   @param data1 the data to be inserted into the list 
 	*/
 	public void addSorted(E data1) {
+		if (indexReady()) {
+			int index = lowerBound(data1);
+			if (index == 0 && !isEmpty() && data1.compareTo(front.data) >= 0) {
+				index = 1; //a value equal to the first one goes after it, same as below 
+			}
+			towerInsert(linkBefore(index == size ? front : nodeAt(index), data1, index), index);
+			return;
+		}
 		Node<E> current = front;
 		int index = 0;
 		if (front == null || data1.compareTo(front.data) < 0) {//add to front of list 
-			add(0, data1);
+			linkBefore(front, data1, 0);
 			return; //this prevents me from adding numbers twice to the beginning of list;
 		} else {
 			while (current.next != front && current.next.data.compareTo(data1) < 0) {
@@ -147,11 +470,12 @@ public class DoublyLinkedList<E extends Comparable<E>> implements MyList<E> {
 				index++;
 			}
 		}
-		add(index + 1, data1);
+		//we already walked to the spot, so link the node in right here instead of walking there again 
+		linkBefore(current.next, data1, index + 1);
 	}
 	
 	/** Set the node at a given index's value to data1 
-	*   Running time: O(n), where n is the length of the list 
+	*   Running time: O(min(index, size - index)), or O(1) near the last index used 
 	*   @param index the location in the list of the node to change 
 	*   @param data1 the new data value
 	*   @exception IndexOutOfBoundsException if index < 0 || index >= size()
@@ -160,54 +484,113 @@ public class DoublyLinkedList<E extends Comparable<E>> implements MyList<E> {
 		if (index < 0 || index >= size()) {
 			throw new IndexOutOfBoundsException("Error: Index must be between 0 and length of list");
 		}
+		nodeAt(index).data = data1;
+		indexChanged();
+	}
+	
+	/** Removes the given value from the list if it is in the list. Does nothing otherwise. The node is 
+	*   unlinked as soon as it's found, rather than finding its index and walking there again. 
+	*   Running time: O(n), or expected O(log(n)) in a sorted list 
+	*   @param value the element to be removed 
+	*/
+	public void remove(E value) {
+		if (indexReady()) {
+			int where = indexOf(value); //leaves the node in the finger cache, so removeAt doesn't walk 
+			if (where != -1) {
+				removeAt(where);
+			}
+			return;
+		}
 		Node<E> current = front;
-		for (int i = 0; i < index; i++) {
+		for (int i = 0; i < size; i++) {
+			if (current.data.equals(value)) {
+				unlink(current, i);
+				indexChanged();
+				return;
+			}
 			current = current.next;
 		}
-		current.data = data1;
 	}
 	
-	/** Removes the given value from the list if it is in the list. Does nothing otherwise 
+	/** Removes every element the filter says yes to. It's one walk around the list, unlinking nodes as it 
+	*   goes, instead of one remove() per element, each of which would start over from the front. 
 	*   Running time: O(n)
-	*   @param value the element to be removed 
+	*   @param filter says which elements to remove 
+	*   @return true if anything was removed 
 	*/
-	public void remove(E value) {
-		int where = this.indexOf(value);
-		if (where != -1) {
-			removeAt(where);
-		} else {
+	public boolean removeIf(Predicate<? super E> filter) {
+		Node<E> current = front;
+		int count = size, index = 0;
+		for (int i = 0; i < count; i++) {
+			Node<E> next = current.next; //grab it first, in case current gets unlinked 
+			if (filter.test(current.data)) {
+				indexChanged(); //before unlinking, so a filter that throws later can't leave the skip list looking fine 
+				unlink(current, index);
+			} else {
+				index++;
+			}
+			current = next;
+		}
+		return size < count;
+	}
+	
+	/** Moves all of other's nodes into this list, so that other's first element ends up at the given 
+	*   index. Nothing is copied- the two chains of nodes just get relinked, which takes a handful of 
+	*   pointer changes no matter how long other is. Afterwards other is empty. 
+	*   Running time: O(1) at either end, otherwise O(min(index, size - index)) to find the spot 
+	*   @param index where in this list other's elements should start 
+	*   @param other the list to move into this one 
+	*   @exception IndexOutOfBoundsException if index < 0 or index > size of list 
+	*   @exception IllegalArgumentException if other is this list 
+	*/
+	public void splice(int index, DoublyLinkedList<E> other) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Error: Index must be between 0 and size of list");
+		}
+		if (other == this) {
+			throw new IllegalArgumentException("Error: can't splice a list into itself");
+		}
+		if (other.isEmpty()) {
 			return;
 		}
+		if (isEmpty()) {
+			front = other.front;
+		} else {
+			Node<E> successor = index == size ? front : nodeAt(index);
+			Node<E> predecessor = successor.previous;
+			Node<E> first = other.front, last = other.front.previous;
+			predecessor.next = first;
+			first.previous = predecessor;
+			last.next = successor;
+			successor.previous = last;
+			if (index == 0) {
+				front = first;
+			}
+			if (cacheIndex >= index) {
+				cacheIndex += other.size;
+			}
+		}
+		size += other.size;
+		modCount++;
+		other.clear();
+		indexChanged();
 	}
 	
-	/** A little convoluted, but as cleanly as possible removes node at given index from the list 
-	*   Running time: O(n)
+	/** Removes node at given index from the list 
+	*   Running time: O(min(index, size - index)), or O(1) near the last index used 
 	*   @param index of node to remove 
 	*   @exception IndexOutOfBoundsException if index < 0 || index >= size()
 	*/
 	public void removeAt(int index) {
-		Node<E> current = front;
 		if (index < 0 || index >= size()) {
 			throw new IndexOutOfBoundsException("Error: Can only remove between 0 and length of list");
 		}
-		if (index == 0) {
-			if (size == 1) {
-				clear();
-				return; //clear() reduced size to 0, so we don't want to decrement it again below 
-			} else {
-				front.next.previous = front.previous;
-				front.previous.next = front.next;
-				front.previous = null;
-				front = front.next; //advance front one space
-			}
+		if (sorted && indexState == INDEX_OK) {
+			towerRemove(index);
 		} else {
-			for (int i = 0; i < index - 1; i++) {
-				current = current.next;
-			}
-			current.next.next.previous = current;
-			current.next = current.next.next;
+			indexChanged();
 		}
-		size--;
+		unlink(nodeAt(index), index);
 	}
 	
 	/** Running time: O(1)
@@ -217,7 +600,8 @@ public class DoublyLinkedList<E extends Comparable<E>> implements MyList<E> {
 		return this.size;
 	}
 	
-	/** Running time: O(n)
+	/** Running time: O(min(index, size - index)), or O(1) if index is next to the last index used, so 
+	*   walking the list with get(0), get(1), ... is O(n) in total instead of O(n^2) 
 	*   @param index the index of the node whose data you want 
 	*   @return that node's data 
 	*   @exception IndexOutOfBoundsException if index < 0 || index >= size()
@@ -226,20 +610,24 @@ public class DoublyLinkedList<E extends Comparable<E>> implements MyList<E> {
 		if (index < 0 || index >= size()) {
 			throw new IndexOutOfBoundsException("Error: Index must be between 0 and length of list");
 		}
-		Node<E> current = front;
-		int i = 0;
-		while (i < index) {
-			current = current.next;
-			i++;
-		}
-		return current.data;
+		return nodeAt(index).data;
 	}
 	
-	/** Running time: O(n)
+	/** Running time: O(n), or expected O(log(n)) in a sorted list 
 	*   @param data the element to be searched for 
 	*   @return the index of data if it's in the list, -1 otherwise 
 	*/
 	public int indexOf(E data) {
+		if (indexReady()) {
+			//find the first value that compares equal, then check the run of them for one that equals data 
+			int index = lowerBound(data);
+			for (Node<E> v = cacheNode; index < size && v.data.compareTo(data) == 0; v = v.next, index++) {
+				if (v.data.equals(data)) {
+					return index;
+				}
+			}
+			return -1;
+		}
 		Node<E> current = front;
 		int i = 0;
 		while (!this.isEmpty() && !current.data.equals(data) && i < size()) {
@@ -249,7 +637,7 @@ public class DoublyLinkedList<E extends Comparable<E>> implements MyList<E> {
 		return i != size() ? i : -1; //if you didn't hit size, congrats you found it, else you didn't return -1
 	}
 	
-	/** Running time: O(n)
+	/** Running time: O(n), or expected O(log(n)) in a sorted list 
 	*   @param data the element to search for 
 	*   @return true if that element is in the list 
 	*/
@@ -293,6 +681,13 @@ public class DoublyLinkedList<E extends Comparable<E>> implements MyList<E> {
 	public void clear() {
 		front = null;
 		size = 0;
+		cacheNode = null;
+		cacheIndex = -1;
+		modCount++;
+		if (sorted) {
+			skipHead = new Tower<E>(null, MAX_LEVEL);
+			indexState = INDEX_OK; //an empty list is in order 
+		}
 	}
 	
 	/** Returns an iterator over this list
@@ -300,7 +695,52 @@ public class DoublyLinkedList<E extends Comparable<E>> implements MyList<E> {
 	*   @return Iterator<E> over the lsit 
 	*/
 	public Iterator<E> iterator() {
-		return new DLLIterator();
+		return new DLLIterator(0);
+	}
+	
+	/** Returns a ListIterator over this list, starting at the front. It can go both ways, and can 
+	*   remove, set and add at its position in O(1). 
+	*   Running time: O(1)
+	*   @return ListIterator<E> over the list 
+	*/
+	public ListIterator<E> listIterator() {
+		return new DLLIterator(0);
+	}
+	
+	/** Returns a ListIterator over this list whose first call to next() gives the element at index. 
+	*   Running time: O(min(index, size - index)), or O(1) near the last index used 
+	*   @param index where to start 
+	*   @return ListIterator<E> over the list 
+	*   @exception IndexOutOfBoundsException if index < 0 or index > size of list 
+	*/
+	public ListIterator<E> listIterator(int index) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Error: Index must be between 0 and size of list");
+		}
+		return new DLLIterator(index);
+	}
+	
+	/** Returns a Spliterator over this list. It knows exactly how many elements it covers, so it can split 
+	*   itself in half, which is what lets a parallel stream hand each half to a different thread. 
+	*   Running time: O(1)
+	*   @return a Spliterator<E> over the list, in order 
+	*/
+	public Spliterator<E> spliterator() {
+		return new DLLSpliterator(front, size, modCount);
+	}
+	
+	/** Running time: O(1)
+	*   @return a sequential Stream<E> over the list 
+	*/
+	public Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+	
+	/** Running time: O(1)
+	*   @return a parallel Stream<E> over the list 
+	*/
+	public Stream<E> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
 	}
 	
 	/** Returns an endless iterator over this list 
@@ -311,34 +751,40 @@ public class DoublyLinkedList<E extends Comparable<E>> implements MyList<E> {
 		return new EndlessIterator();
 	}
 	
-	/** This class provides an implementation of the Java Iterator interface for the DoublyLinkedList class
+	/** This class provides an implementation of the Java ListIterator interface for the DoublyLinkedList 
+	*   class. It holds on to the nodes it's next to, so remove, set and add just relink those nodes instead 
+	*   of asking the list to walk to an index. If the list gets changed by anything other than this 
+	*   iterator while it's in use, the next call on the iterator throws ConcurrentModificationException. 
 	*/
-	private class DLLIterator implements Iterator<E> {
-		private Node<E> current; //node to remove 
-		private boolean removeOK;
-		private int nodesVisited;
+	private class DLLIterator implements ListIterator<E> {
+		private Node<E> next; //node next() returns. front if we're at the end, since the list is circular 
+		private int nextIndex; 
+		private Node<E> lastReturned; //node to remove or set, or null if there isn't one 
+		private int lastIndex; //lastReturned's index 
+		private int expectedModCount; 
 		
-		/** Constructor for this class 
-		*   Running time: O(1)
+		/** Constructor for this class. Starts out right before the given index. 
+		*   Running time: O(1), plus whatever nodeAt() takes to get to index 
 		*/
-		public DLLIterator() {
-            current = front;
-            removeOK = false;
-			nodesVisited = 0;
-        }
+		public DLLIterator(int index) {
+			next = index == size ? front : nodeAt(index);
+			nextIndex = index;
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
 		
-		/** I am checking for a next value by seeing if we haven't already visited all the nodes 
-		*   in the list. Since someone might want to use an instance of this class multiple times, 
-		*   I reset the number of nodes visited if it reaches size 
-		*   Running time: O(1)
+		//Throws if the list was changed behind our back 
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+		
+		/** Running time: O(1)
 		*   @return true if there is a next element, false otherwise 
 		*/
 		public boolean hasNext() {
-			boolean reset = nodesVisited == size();
-			if (reset) {
-				nodesVisited = 0;
-			}
-			return !reset;
+			return nextIndex < size;
 		}
 		
 		/** Returns the next element in the list 
@@ -347,28 +793,177 @@ public class DoublyLinkedList<E extends Comparable<E>> implements MyList<E> {
 		*   @exception NoSuchElementException if there is no next element 
 		*/
 		public E next() {
+			checkForComodification();
 			if (!hasNext()) {
 				throw new NoSuchElementException();
 			}
-			E result = current.data;
-			current = current.next;
-			removeOK = true;
-			nodesVisited++;
-			return result;
+			lastReturned = next;
+			lastIndex = nextIndex;
+			next = next.next;
+			nextIndex++;
+			return lastReturned.data;
 		}
 		
-		/** Since removing from a circular, doubly-linked list is a nightmare, I'm just using the removeAt()
-		*   method that class provides. This sacrifices speed at the altar of program succinctness. 
-		*   Running time: O(n)
-		*   @exception IllegalStateException if can't remove 
+		/** Running time: O(1)
+		*   @return true if there is a previous element, false otherwise 
+		*/
+		public boolean hasPrevious() {
+			return nextIndex > 0;
+		}
+		
+		/** Returns the previous element in the list, and moves back past it 
+		*   Running time: O(1)
+		*   @exception NoSuchElementException if there is no previous element 
+		*/
+		public E previous() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+			next = next.previous; //at the end next is front, and front.previous is the last node 
+			nextIndex--;
+			lastReturned = next;
+			lastIndex = nextIndex;
+			return lastReturned.data;
+		}
+		
+		public int nextIndex() {
+			return nextIndex;
+		}
+		
+		public int previousIndex() {
+			return nextIndex - 1;
+		}
+		
+		/** Removes the element next() or previous() returned last by unlinking its node. In a sorted list 
+		*   its tower comes out of the skip list too. 
+		*   Running time: O(1), or expected O(log(n)) in a sorted list 
+		*   @exception IllegalStateException if there's nothing to remove 
 		*/
 		public void remove() {
-			if (!removeOK) {
+			checkForComodification();
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			if (sorted && indexState == INDEX_OK) {
+				towerRemove(lastIndex);
+			} else {
+				indexChanged();
+			}
+			if (lastIndex == nextIndex) {
+				next = lastReturned.next; //it came from previous(), so the node after it is next now 
+			} else {
+				nextIndex--; //it came from next(), so everything after it moved down one 
+			}
+			unlink(lastReturned, lastIndex);
+			if (isEmpty()) {
+				next = null;
+			}
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+		
+		/** Replaces the element next() or previous() returned last. 
+		*   Running time: O(1)
+		*   @exception IllegalStateException if there's nothing to replace 
+		*/
+		public void set(E data) {
+			checkForComodification();
+			if (lastReturned == null) {
 				throw new IllegalStateException();
 			}
-			removeOK = false;
-			removeAt(nodesVisited - 1);
-			nodesVisited--;
+			lastReturned.data = data;
+			indexChanged();
+		}
+		
+		/** Inserts data right before the element next() would return, so next() isn't affected and 
+		*   previous() would return the new element. In a sorted list, a value that fits between its 
+		*   neighbours goes into the skip list too, like add(E). 
+		*   Running time: O(1), or expected O(log(n)) in a sorted list 
+		*/
+		public void add(E data) {
+			checkForComodification();
+			boolean inOrder = sorted && indexState == INDEX_OK && (isEmpty() 
+				|| (nextIndex == 0 || next.previous.data.compareTo(data) <= 0) 
+				&& (nextIndex == size || data.compareTo(next.data) <= 0));
+			Node<E> added = linkBefore(next, data, nextIndex);
+			if (inOrder) {
+				towerInsert(added, nextIndex);
+			} else {
+				indexChanged();
+			}
+			if (next == null) {
+				next = front; //the list was empty 
+			}
+			nextIndex++;
+			lastReturned = null;
+			expectedModCount = modCount;
+		}
+	}
+	
+	/** Covers count nodes, starting with first. To split, it walks to the middle and hands the first half 
+	*   off to a new spliterator. The walk is O(n), but the half that does it is already running on its 
+	*   own thread by then, so the splitting gets done in parallel too. Like DLLIterator, it throws 
+	*   ConcurrentModificationException if the list had nodes linked in or out while it was being used. 
+	*/
+	private class DLLSpliterator implements Spliterator<E> {
+		private Node<E> current;
+		private int remaining;
+		private int expectedModCount;
+		
+		public DLLSpliterator(Node<E> first, int count, int expectedModCount) {
+			current = first;
+			remaining = count;
+			this.expectedModCount = expectedModCount;
+		}
+		
+		public boolean tryAdvance(Consumer<? super E> action) {
+			if (remaining == 0) {
+				return false;
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			action.accept(current.data);
+			current = current.next;
+			remaining--;
+			return true;
+		}
+		
+		//checks before every element, because once a removed node is recycled, following its links could 
+		//lead into the pool 
+		public void forEachRemaining(Consumer<? super E> action) {
+			for (; remaining > 0; remaining--) {
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				action.accept(current.data);
+				current = current.next;
+			}
+		}
+		
+		public Spliterator<E> trySplit() {
+			if (remaining < 2) {
+				return null;
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException(); //the walk to the middle could end up in the pool 
+			}
+			int half = remaining / 2;
+			Spliterator<E> firstHalf = new DLLSpliterator(current, half, expectedModCount);
+			for (int i = 0; i < half; i++) {
+				current = current.next;
+			}
+			remaining -= half;
+			return firstHalf;
+		}
+		
+		public long estimateSize() {
+			return remaining;
+		}
+		
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
 		}
 	}
 	
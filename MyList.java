@@ -1,3 +1,6 @@
+import java.util.Collection;
+import java.util.function.Predicate;
+
 /** This exists so I have a quick reference of all the methods in the DoublyLinkedList class
 */
 public interface MyList<E> extends Iterable<E> {
@@ -12,4 +15,27 @@ public interface MyList<E> extends Iterable<E> {
 	public void remove(E value);
 	public void set(int index, E value); //change data at certain index to certain value 
 	public void clear();
-}
\ No newline at end of file
+	public boolean removeIf(Predicate<? super E> filter); //remove everything filter says yes to, in one pass. true if anything was removed 
+	
+	/** Appends every value, in the order the Iterable hands them out. Adding a list to itself doubles it. 
+	*/
+	public default void addAll(Iterable<? extends E> values) {
+		if (values == this) {
+			int count = size();
+			for (int i = 0; i < count; i++) {
+				add(get(i));
+			}
+			return;
+		}
+		for (E value : values) {
+			add(value);
+		}
+	}
+	
+	/** Removes everything that isn't in keep. 
+	*   @return true if anything was removed 
+	*/
+	public default boolean retainAll(Collection<?> keep) {
+		return removeIf(value -> !keep.contains(value));
+	}
+}
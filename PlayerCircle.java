@@ -1,22 +1,22 @@
 import java.util.*;
 
 /** This is how we represent the participants in the Uno game. It basically just provides
-*   a layer of abstraction over the DoublyLinkedList class and only lets you access that 
+*   a layer of abstraction over the CircularArrayList class and only lets you access that 
 *   class in certain ways.
 *   @author Daniel Vilinsky 
 */
 public class PlayerCircle implements Iterable<Player> {
-	private DoublyLinkedList<Player> circle;
+	private CircularArrayList<Player> circle;
 	
 	/** Constructor for this class. Initializes the underlying list
 	*   Running time: O(1)
 	*/
 	public PlayerCircle() {
-		this.circle = new DoublyLinkedList<Player>();
+		this.circle = new CircularArrayList<Player>();
 	}
 	
 	/** Adds p to the circle in sorted (alphabetical) order 
-	*   Running time: O(n)- we may have to add to the end of the list 
+	*   Running time: O(n)- finding the spot is a binary search, but the players after it have to shift 
 	*   @param p the Player to add to the circle 
 	*/
 	public void addToCircle(Player p) {
@@ -32,8 +32,7 @@ public class PlayerCircle implements Iterable<Player> {
 	}
 	
 	/** Get's the first player in the circle. 
-	*   Running time: O(1). While DoublyLinkedList::get(index) is O(n) in the worst case, 
-	*   if this method only calls get(0), then that method runs in constant time. 
+	*   Running time: O(1) 
 	*   @return the first player 
 	*/
 	public Player getFirstPlayer() {
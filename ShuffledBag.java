@@ -0,0 +1,160 @@
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+/** A bag that keeps its elements in random order, like a shuffled deck of cards. add() puts the new
+*   element at a random spot and draw() takes one off the top, and both are O(1), so building a shuffled
+*   pile of n things is O(n). SinglyLinkedList.randomInsert has to walk to its random spot, which makes
+*   that O(n^2).
+*   add() is the "inside-out" version of the Fisher-Yates shuffle: the new element goes to a random index
+*   j between 0 and size, and whatever was at j moves to the end. If the bag was in a uniformly random
+*   order before, it still is after, so it never has to be shuffled as a whole. Taking the last element
+*   of a random order leaves the rest in random order too, which is why draw() can just take the end.
+*   The random numbers come from a RandomGenerator the bag is given, so a bag built from a generator with
+*   a fixed seed comes out in the same order every time.
+*   @author Daniel Vilinsky
+*/
+public class ShuffledBag<E> implements Iterable<E> {
+	private static final int DEFAULT_CAPACITY = 16;
+	private Object[] elements; //elements[size - 1] is the top of the bag
+	private int size;
+	private RandomGenerator random;
+	
+	/** Constructs an empty bag that's shuffled with a new java.util.Random.
+	*   Running time: O(1)
+	*/
+	public ShuffledBag() {
+		this(new Random());
+	}
+	
+	/** Constructs an empty bag that's shuffled with a java.util.Random made from the given seed, so the
+	*   same seed and the same adds always give the same order.
+	*   Running time: O(1)
+	*   @param seed the seed for the random numbers
+	*/
+	public ShuffledBag(long seed) {
+		this(new Random(seed));
+	}
+	
+	/** Constructs an empty bag that gets its random numbers from the given generator. Bags can share one.
+	*   Running time: O(1)
+	*   @param random where the random numbers come from
+	*   @exception NullPointerException if random is null
+	*/
+	public ShuffledBag(RandomGenerator random) {
+		this.elements = new Object[DEFAULT_CAPACITY];
+		this.size = 0;
+		this.random = Objects.requireNonNull(random);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private E elementAt(int index) {
+		return (E) elements[index];
+	}
+	
+	/** Puts value at a random spot in the bag.
+	*   Running time: O(1) amortized
+	*   @param value the thing to add
+	*/
+	public void add(E value) {
+		if (size == elements.length) {
+			elements = Arrays.copyOf(elements, size * 2);
+		}
+		int j = random.nextInt(size + 1);
+		elements[size] = elements[j];
+		elements[j] = value;
+		size++;
+	}
+	
+	/** Takes every element out of other and adds it to this bag. Afterwards other is empty.
+	*   Running time: O(k), where k is the size of other
+	*   @param other the bag to empty into this one
+	*/
+	public void addAllFrom(ShuffledBag<? extends E> other) {
+		while (!other.isEmpty()) {
+			add(other.draw());
+		}
+	}
+	
+	/** Removes and returns the element on top of the bag, which is a random one.
+	*   Running time: O(1)
+	*   @return the element drawn
+	*   @exception NoSuchElementException if the bag is empty
+	*/
+	public E draw() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		E top = elementAt(--size);
+		elements[size] = null; //so the garbage collector can have it
+		return top;
+	}
+	
+	/** Returns the element draw() would return, without removing it.
+	*   Running time: O(1)
+	*   @exception NoSuchElementException if the bag is empty
+	*/
+	public E peek() {
+		if (isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		return elementAt(size - 1);
+	}
+	
+	/** Running time: O(1)
+	*   @return how many elements are in the bag
+	*/
+	public int size() {
+		return size;
+	}
+	
+	/** Running time: O(1)
+	*   @return true if the bag is empty
+	*/
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/** Empties the bag. The array keeps its length.
+	*   Running time: O(n), since the old elements have to be let go of for the garbage collector
+	*/
+	public void clear() {
+		Arrays.fill(elements, 0, size, null);
+		size = 0;
+	}
+	
+	/** Gives a string representation of the form [e1, e2, ... eN], where e1 is the next one draw() would
+	*   return.
+	*   Running time: O(n)
+	*/
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = size - 1; i >= 0; i--) {
+			sb.append(elements[i]);
+			if (i > 0) {
+				sb.append(", ");
+			}
+		}
+		return sb.append("]").toString();
+	}
+	
+	/** Returns an iterator that goes through the bag in the order draw() would take things out. It can't
+	*   remove, since taking something out of the middle would mean moving the rest down.
+	*   Running time: O(1)
+	*/
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private int next = size - 1;
+			
+			public boolean hasNext() {
+				return next >= 0;
+			}
+			
+			public E next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return elementAt(next--);
+			}
+		};
+	}
+}
@@ -1,11 +1,17 @@
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
  
 /** This class provides an implementation of a non-circular singly linked list 
 *  @author Daniel Vilinsky  
 */
-public class SinglyLinkedList<E> {
+public class SinglyLinkedList<E> implements Iterable<E> {
 	private SinglyLinkedNode<E> head, tail;
 	private int size;
+	private int modCount; //goes up every time a node is linked in or out, so spliterators can tell the list changed under them 
+	private SinglyLinkedNode<E> pool; //removed nodes waiting to be reused, chained together through next 
+	private int pooled, poolCapacity; //how many nodes are in the pool, and the most it will hold. 0 means no recycling 
 	
 	/** Constructor. Sets the head and tail to null, and size to 0 
 	*   Running time: O(1)
@@ -31,7 +37,7 @@ public class SinglyLinkedList<E> {
 	*   Running time: O(1)
 	*/
 	public void regularInsert(E data) {
-		SinglyLinkedNode<E> toInsert = new SinglyLinkedNode<E>(data);
+		SinglyLinkedNode<E> toInsert = newNode(data);
 		if (this.isEmpty()) {
 			this.head = toInsert;
 			this.tail = toInsert;
@@ -40,10 +46,12 @@ public class SinglyLinkedList<E> {
 			tail = toInsert;
 		}
 		this.size++;
+		modCount++;
 	}
 	
 	/** Inserts a node containing the given data at a random spot in the list
 	*   Running time: O(n), where n is the numbe of nodes. In the worst case, we might have to insert at the end of the list. 
+	*   To build a whole shuffled pile, use a ShuffledBag instead, which does each insert in O(1). 
 	*   @param data to be inserted into the list
 	*/
 	public void randomInsert(E data) {
@@ -62,61 +70,145 @@ public class SinglyLinkedList<E> {
 	*/
 	private void addAt(int index, E data) {
 		if (index == 0) {
-			SinglyLinkedNode<E> toInsert = new SinglyLinkedNode<E>(data);
+			SinglyLinkedNode<E> toInsert = newNode(data);
 			if (this.isEmpty()) {
 				tail = toInsert;
 			}
 			toInsert.next = head;
 			head = toInsert; 
 			this.size++;
+			modCount++;
 		} else if (index == this.size - 1) {
 			this.regularInsert(data);
 		} else {
 			SinglyLinkedNode<E> previous = nodeAt(index - 1);
-			SinglyLinkedNode<E> toInsert = new SinglyLinkedNode<E>(data);
+			SinglyLinkedNode<E> toInsert = newNode(data);
 			toInsert.next = previous.next;
 			previous.next = toInsert;
 			this.size++;
+			modCount++;
 		}
 	}
 	
-	/** Removes the first node containing "data" from the list 
+	/** Removes the first node containing "data" from the list. The size only goes down if something 
+	*  was actually removed. 
 	*  @param data you want to remove from the list 
-	*  @return the data that the node that was removed contains. Kind of useless, really 
+	*  @return the data that the node that was removed contains, or null if data isn't in the list 
 	*  Running time: Since we have to find where (if anywhere) in the list the data is, 
 	*  the running time is O(n).
 	*/
 	public E remove(E data) {
-		this.size--;
+		if (this.isEmpty()) {
+			return null;
+		}
 		if (this.head.data.equals(data)) {
-			SinglyLinkedNode<E> temp = head;
-			head = head.next;
-			if (head == null) { //if head ends up being null, then the list is empty, so we have to make tail reflect that
-				tail = null;
-			}
-			return temp.data;
+			return removeFirst();
 		}
 		SinglyLinkedNode<E> previous = findPrevious(data); //returns the node previous to the one containing the data 
 		if (previous != null) {
-			if (previous.next.data.equals(this.tail.data)) {
-				tail = previous; //if we remove the last node, we have to fix the tail pointer
-			}
-			SinglyLinkedNode<E> temp = previous.next;
-			previous.next = previous.next.next;
-			return temp.data;
+			return unlinkAfter(previous);
 		} else {
 			return null; //if previous was null, then "data" isn't in the list. So we return null
 		}
 	}
 	
-	/** Removes the node at the given index. 
-	*   Running time: O(n), where n is the size of the list 
+	/** Removes the first node in the list. 
+	*   Running time: O(1)
+	*   @return the data it contained 
+	*   @exception NoSuchElementException if the list is empty 
+	*/
+	public E removeFirst() {
+		if (this.isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		SinglyLinkedNode<E> temp = head;
+		head = head.next;
+		if (head == null) { //if head ends up being null, then the list is empty, so we have to make tail reflect that
+			tail = null;
+		}
+		this.size--;
+		modCount++;
+		E removed = temp.data;
+		recycle(temp);
+		return removed;
+	}
+	
+	/** Helper method for the removes. Takes out the node after previous, which has to exist. 
+	*   Running time: O(1)
+	*   @return the data the removed node contained 
+	*/
+	private E unlinkAfter(SinglyLinkedNode<E> previous) {
+		SinglyLinkedNode<E> temp = previous.next;
+		previous.next = temp.next;
+		if (temp == this.tail) {
+			tail = previous; //if we remove the last node, we have to fix the tail pointer. Comparing the nodes and not their data means a duplicate of the last value doesn't fool it 
+		}
+		this.size--;
+		modCount++;
+		E removed = temp.data;
+		recycle(temp);
+		return removed;
+	}
+	
+	/** Makes the list hold on to up to capacity of the nodes it removes, and reuse them for the next 
+	*   inserts instead of creating new ones. For lists that things keep going in and out of, like the 
+	*   deck, that means no garbage once the pool has filled up. The data in a recycled node is set to 
+	*   null so the pool doesn't keep removed elements alive. 
+	*   Running time: O(1), or O(number of pooled nodes let go) if the pool shrinks 
+	*   @param capacity most removed nodes to keep around. 0, the default, turns recycling off 
+	*   @exception IllegalArgumentException if capacity < 0 
+	*/
+	public void setNodePoolSize(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Error: pool size can't be negative");
+		}
+		this.poolCapacity = capacity;
+		while (this.pooled > capacity) {
+			SinglyLinkedNode<E> spare = pool;
+			pool = spare.next;
+			spare.next = null;
+			this.pooled--;
+		}
+	}
+	
+	//Helper for the inserts. Gives a node from the pool if there is one, or a brand new one if not 
+	private SinglyLinkedNode<E> newNode(E data) {
+		if (pool == null) {
+			return new SinglyLinkedNode<E>(data);
+		}
+		SinglyLinkedNode<E> node = pool;
+		pool = node.next;
+		this.pooled--;
+		node.data = data;
+		node.next = null;
+		return node;
+	}
+	
+	//Helper for the removes. Puts a node that was just taken out of the list into the pool, if there's room 
+	private void recycle(SinglyLinkedNode<E> node) {
+		if (this.pooled < this.poolCapacity) {
+			node.data = null; //so the garbage collector can have it 
+			node.next = pool;
+			pool = node;
+			this.pooled++;
+		}
+	}
+	
+	/** Removes the node at the given index. It walks to the node before it once and unlinks it from 
+	*   there, so it removes that exact node even if the same value is somewhere earlier in the list. 
+	*   Running time: O(index), so O(1) for index 0 
 	*   @param index of the node to remove 
 	*   @return the data at that index
-	*   @exception IndexOutOfBoundsException if index is >= size 
+	*   @exception IndexOutOfBoundsException if index < 0 || index >= size 
 	*/
 	public E removeAt(int index) {
-		return remove(nodeAt(index).data);
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Error: Index must be between zero and the size of the list");
+		}
+		if (index == 0) {
+			return removeFirst();
+		}
+		return unlinkAfter(nodeAt(index - 1));
 	}
 	
 	/**Helper method for removeAt. Returns the node at the given index. 
@@ -181,6 +273,7 @@ public class SinglyLinkedList<E> {
 		this.head = null;
 		this.tail = null;
 		this.size = 0;
+		modCount++;
 	}
 	
 	/** Creates a string representation of the form [elem1, elem2...elemN], where elem1 is
@@ -214,21 +307,109 @@ public class SinglyLinkedList<E> {
 		return new SLLIterator();
 	}
 	
+	/** Gives you a Spliterator over this list that splits itself in half, so parallel streams work. 
+	*   Running time: O(1)
+	*   @return a Spliterator<E> over this list, in order 
+	*/
+	public Spliterator<E> spliterator() {
+		return new SLLSpliterator(head, size, modCount);
+	}
+	
+	/** Running time: O(1)
+	*   @return a sequential Stream<E> over this list 
+	*/
+	public Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+	
+	/** Running time: O(1)
+	*   @return a parallel Stream<E> over this list 
+	*/
+	public Stream<E> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+	
+	/** Same as the one in DoublyLinkedList: covers count nodes starting at first, splits by walking 
+	*   to the middle, and throws ConcurrentModificationException if the list had nodes linked in or out 
+	*   while it was being used. 
+	*/
+	private class SLLSpliterator implements Spliterator<E> {
+		private SinglyLinkedNode<E> current;
+		private int remaining;
+		private int expectedModCount;
+		
+		public SLLSpliterator(SinglyLinkedNode<E> first, int count, int expectedModCount) {
+			current = first;
+			remaining = count;
+			this.expectedModCount = expectedModCount;
+		}
+		
+		public boolean tryAdvance(Consumer<? super E> action) {
+			if (remaining == 0) {
+				return false;
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			action.accept(current.data);
+			current = current.next;
+			remaining--;
+			return true;
+		}
+		
+		//checks before every element, because once a removed node is recycled, following its links could 
+		//lead into the pool 
+		public void forEachRemaining(Consumer<? super E> action) {
+			for (; remaining > 0; remaining--) {
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				action.accept(current.data);
+				current = current.next;
+			}
+		}
+		
+		public Spliterator<E> trySplit() {
+			if (remaining < 2) {
+				return null;
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException(); //the walk to the middle could end up in the pool 
+			}
+			int half = remaining / 2;
+			Spliterator<E> firstHalf = new SLLSpliterator(current, half, expectedModCount);
+			for (int i = 0; i < half; i++) {
+				current = current.next;
+			}
+			remaining -= half;
+			return firstHalf;
+		}
+		
+		public long estimateSize() {
+			return remaining;
+		}
+		
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+	}
+	
 	/** Implementation of the Iterator interface for this class. I'm writing this so
 	*	the drawCard method of UnoDeck.java works. 
 	*   Much of this has been adapted from Chapter 16 of "Building Java Programs," 3rd Edition by Reges and Stepp.
 	*/
 	private class SLLIterator implements Iterator<E> {
-		private SinglyLinkedNode<E> current, previous;
-		private boolean removeOK;
+		private SinglyLinkedNode<E> current; //the node next() returns 
+		private SinglyLinkedNode<E> lastReturned; //the node remove() takes out, or null if remove can't be called 
+		private SinglyLinkedNode<E> previous; //the node before lastReturned, or null if lastReturned is the head 
 		
 		/** Constructor for this class
 		*   Running time: O(1)
 		*/
 		public SLLIterator() {
 			current = head;
-			previous = head;
-			removeOK = false;
+			lastReturned = null;
+			previous = null;
 		}
 		
 		/** Running time: O(1)
@@ -247,28 +428,29 @@ public class SinglyLinkedList<E> {
 			if (!hasNext()) {
 				throw new NoSuchElementException();
 			}
-			E result = current.data;
-			previous = current;
+			if (lastReturned != null) {
+				previous = lastReturned; //if it was removed instead, previous is still the node before current 
+			}
+			lastReturned = current;
 			current = current.next;
-			removeOK = true;
-			return result;
+			return lastReturned.data;
 		}
 		
-		/** Removes the element that next() just returned. Assumes user will call next 
-		*   before calling this method. 
+		/** Removes the element that next() just returned by unlinking it from the node before it, which 
+		*   the iterator keeps track of. 
 	    *   Running time: O(1)
 		*   @exception IllegalStateException if next() was not called prior to calling this
 		*/
 		public void remove() {
-			if (!removeOK) {
+			if (lastReturned == null) {
 				throw new IllegalStateException();
 			}
-			previous = current;
-			size--;
-			if (size == 0) { //if we end up reducing size to 0, the list is now empty, so we set the pointers to enforce that  
-			    clear();
+			if (previous == null) {
+				removeFirst();
+			} else {
+				unlinkAfter(previous);
 			}
-			removeOK = false;
+			lastReturned = null;
 		}
 	}
-}
\ No newline at end of file
+}
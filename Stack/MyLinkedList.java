@@ -37,6 +37,8 @@ public class MyLinkedList<E extends Comparable<E>> implements MyList<E> {
 						//of a linked list is that it is not bounded in size like an array or arraylist
 						//technically this still has an upper bound of something like 2^63, though.
 						//this means that all indices used throughout have to be doubles 
+	private Node<E> pool; //removed nodes waiting to be reused, chained together through next 
+	private int pooled, poolCapacity; //how many nodes are pooled, and the most the pool holds. 0 means no recycling 
 	
 	public MyLinkedList() {
 		front = null;
@@ -48,7 +50,7 @@ public class MyLinkedList<E extends Comparable<E>> implements MyList<E> {
 	public void add(E data) {
 		Node<E> current = front;
 		if (front == null) {
-			front = new Node<E>(data);
+			front = newNode(data);
 			front.next = front;
 			front.previous = front; 
 			back = front;
@@ -56,7 +58,7 @@ public class MyLinkedList<E extends Comparable<E>> implements MyList<E> {
 			while (current.next != front) { //if current.next == front, we've reached the end of the list- it is looping back around 
 				current = current.next;
 			}
-			current.next = new Node<E>(data);
+			current.next = newNode(data);
 			current.next.previous = current;
 			current.next.next = front; //we've hit end so loop it around
 			front.previous = current.next;
@@ -71,7 +73,7 @@ public class MyLinkedList<E extends Comparable<E>> implements MyList<E> {
 			throw new IndexOutOfBoundsException();
 		}
 		if (index == 0 && !isEmpty()) { //add to front of list 
-			Node<E> temp = new Node<E>(data);
+			Node<E> temp = newNode(data);
 			temp.next = front; 
 			temp.previous = front.previous;
 			front.previous.next = temp;
@@ -88,7 +90,7 @@ public class MyLinkedList<E extends Comparable<E>> implements MyList<E> {
 			for (double i = 0; i < index - 1; i++) {
 				current = current.next;
 			}
-			Node<E> temp = new Node<E>(data);
+			Node<E> temp = newNode(data);
 			temp.next = current.next;
 			temp.previous = current;
 			current.next.previous = temp;
@@ -153,13 +155,16 @@ public class MyLinkedList<E extends Comparable<E>> implements MyList<E> {
 		Node<E> current = front;
 		if (index == 0) {
 			if (size == 1) {
+				recycle(front);
 				clear();
 				return; //clear reduced size to 0, so we don't want to decrement it again below 
 			} else {
+				Node<E> removed = front;
 				front.next.previous = front.previous;
 				front.previous.next = front.next;
 				front.previous = null;
 				front = front.next; //advance front one space
+				recycle(removed);
 			}
 		} else if (front == null) {
 			return; //do nothing
@@ -169,11 +174,59 @@ public class MyLinkedList<E extends Comparable<E>> implements MyList<E> {
 			for (int i = 0; i < index - 1; i++) {
 				current = current.next;
 			}
-			current.next = current.next.next;
+			Node<E> removed = current.next;
+			current.next = removed.next;
+			removed.next.previous = current; //the node after it can't keep pointing back at it, since it might get reused 
+			if (removed == back) {
+				back = current;
+			}
+			recycle(removed);
 		}
 		size--;
 	}
 	
+	//Makes the list keep up to capacity of the nodes it removes and reuse them for the next adds, instead 
+	//of making new ones. A stack that keeps getting pushed and popped then stops making garbage. The data 
+	//in a pooled node is set to null, so the pool doesn't keep popped values alive. 0, the default, turns 
+	//recycling off. Running time: O(1), or O(number of pooled nodes let go) if the pool shrinks 
+	public void setNodePoolSize(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Error: pool size can't be negative");
+		}
+		poolCapacity = capacity;
+		while (pooled > capacity) {
+			Node<E> spare = pool;
+			pool = spare.next;
+			spare.next = null;
+			pooled--;
+		}
+	}
+	
+	//gives a node from the pool if there is one, or a brand new one if not 
+	private Node<E> newNode(E data) {
+		if (pool == null) {
+			return new Node<E>(data);
+		}
+		Node<E> temp = pool;
+		pool = temp.next;
+		pooled--;
+		temp.data = data;
+		temp.next = null;
+		temp.previous = null;
+		return temp;
+	}
+	
+	//puts a node that was just taken out of the list into the pool, if there's room 
+	private void recycle(Node<E> removed) {
+		if (pooled < poolCapacity) {
+			removed.data = null; //so the garbage collector can have it 
+			removed.previous = null;
+			removed.next = pool;
+			pool = removed;
+			pooled++;
+		}
+	}
+	
 	/* Commenting this out. Let's make size an O(1) operation
 	public int size () {
 		int i = 0;
@@ -11,6 +11,13 @@ public class MyStack<E extends Comparable<E>> {
 		size = 0;
 	}
 	
+	//same as above, but the underlying list keeps up to nodePoolSize popped nodes around to reuse on the 
+	//next pushes, so pushing and popping over and over doesn't make garbage. Running time: O(1)
+	public MyStack(int nodePoolSize) {
+		this();
+		stack.setNodePoolSize(nodePoolSize);
+	}
+	
 	//adds a value to the front of the list. While add(double index) is technically an O(n) operation
 	//since we are only going one place, this runs in O(1)
 	public void push(E value) {
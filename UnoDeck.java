@@ -4,10 +4,11 @@
  */
 
 import java.util.*;
+import java.util.random.RandomGenerator;
 public class UnoDeck {
 	private static final String[] REGULAR_COLORS = {"red", "yellow", "blue", "green"};
-	private SinglyLinkedList<UnoCard> deck; //deck from which players draw cards 
-	private SinglyLinkedList<UnoCard> discard; // discard pile
+	private ShuffledBag<UnoCard> deck; //deck from which players draw cards 
+	private ShuffledBag<UnoCard> discard; // discard pile
 	private UnoCard lastDiscarded;
 	
 	/** http://play-k.kaserver5.org/Uno.html
@@ -20,38 +21,48 @@ public class UnoDeck {
 	 *  Running time: O(n), where n is the size of the deck 
 	 */
 	public UnoDeck(){
-		this.deck = new SinglyLinkedList<UnoCard>();
-		this.discard = new SinglyLinkedList<UnoCard>();
+		this(new Random());
+	}
+	
+	/** Same as UnoDeck(), but the shuffling uses the given random number generator. Give it one with a 
+	*   fixed seed, like new Random(42), and the deck and discard pile come out the same every game. 
+	*   Running time: O(n), where n is the size of the deck 
+	*   @param random where the deck and the discard pile get their random numbers 
+	*   @exception NullPointerException if random is null 
+	*/
+	public UnoDeck(RandomGenerator random) {
+		this.deck = new ShuffledBag<UnoCard>(random);
+		this.discard = new ShuffledBag<UnoCard>(random);
 		this.lastDiscarded = null;
 		for (String color : REGULAR_COLORS){
-			deck.randomInsert(new UnoCard(color, 0)); // add one of your color in zero
+			deck.add(new UnoCard(color, 0)); // add one of your color in zero
 			for (int i = 0; i<2; i++){
 				// add numbers 1-9
 				for (int cardNumber = 1; cardNumber<=9; cardNumber++){
-					deck.randomInsert(new UnoCard(color, cardNumber)); 
+					deck.add(new UnoCard(color, cardNumber)); 
 				}
 				// add 2 of each of the special card for that color
-				deck.randomInsert(new UnoCard(color, true, false, false)); 
-				deck.randomInsert(new UnoCard(color, false, true, false));
-				deck.randomInsert(new UnoCard(color, false, false, true)); 
+				deck.add(new UnoCard(color, true, false, false)); 
+				deck.add(new UnoCard(color, false, true, false));
+				deck.add(new UnoCard(color, false, false, true)); 
 			}
 			
 		}
 		// add 4 wild cards, and 4 draw 4 wild cards
 		for (int i = 0; i<4; i++){
-			deck.randomInsert(new UnoCard(false)); 
-			deck.randomInsert(new UnoCard(true));
+			deck.add(new UnoCard(false)); 
+			deck.add(new UnoCard(true));
 		}
 	}
 	
 	/** Adds the card c to a random place in the discard pile 
-	*   Running time: O(n)
+	*   Running time: O(1)
     *   @param c, the card to discard 
 	*   @exception IllegalArgumentException if the card is invalid
 	*/
 	public void discardCard(UnoCard c) {
 		if (discard.isEmpty() || c.canBePlacedOn(this.lastDiscarded)) {
-			discard.randomInsert(c);
+			discard.add(c);
 			this.lastDiscarded = c;			
 		} else {
 			throw new IllegalArgumentException("Error: card " + c + " can't be placed on " + lastDiscarded);
@@ -69,23 +80,16 @@ public class UnoDeck {
 	
 	/** Draws a card from the top of the deck. If the deck is empty, it moves all the cards from 
 	*   the discard pile into the deck. 
-	*   Running time: O(n)if the deck is empty, where n is the size of the discard pile. I claim that 
-	*   it's otherwise O(1). removeAt(index) is technically an O(n) method. However, when we pass it 
-	*   the index 0, the for loop in the nodeAt(index) helper method it uses never runs. So, it only 
-	*   ends up doing a bunch of constant time operations. 
+	*   Running time: O(n)if the deck is empty, where n is the size of the discard pile. Otherwise 
+	*   O(1), since the deck is a ShuffledBag and drawing just takes the top card. 
 	*   @return: the UnoCard at the top of the deck 
 	*/
 	public UnoCard drawCard() {
 		//hopefully, discard is not empty also...
 		if (this.deck.isEmpty()) {
-			Iterator<UnoCard> i = this.discard.iterator();
-			while (i.hasNext()) {
-				UnoCard uc = i.next();
-				this.deck.regularInsert(uc); //we don't insert randomly because the discard deck is already random
-				i.remove();
-			}
+			this.deck.addAllFrom(this.discard);
 		}
-		return this.deck.removeAt(0);
+		return this.deck.draw();
 	}
 	
 	/** Returns the contents of the deck in this UnoDeck 
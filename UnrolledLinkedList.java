@@ -0,0 +1,513 @@
+import java.util.*;
+import java.util.function.Predicate;
+
+/** An implementation of MyList that's a doubly linked list of chunks, where each chunk holds up to
+*   CHUNK_SIZE elements in a little array. It's in between DoublyLinkedList and CircularArrayList: adding
+*   or removing in the middle only shifts the elements of one chunk, not half the list, but walking the
+*   list reads one array after another instead of jumping to a new node for every element. There's one
+*   chunk for every few dozen elements, so there's a lot less memory spent on nodes and links too.
+*   Every chunk except the last is kept at least half full. A chunk that fills up splits in two, and one
+*   that drops below half borrows from or merges with the chunk after it.
+*   Like DoublyLinkedList, the list remembers the last chunk it walked to and where that chunk starts (a
+*   "finger"), and starts from there when that's closer than either end, so working near the same spot
+*   over and over doesn't walk the list each time.
+*   @author Daniel Vilinsky
+*/
+public class UnrolledLinkedList<E extends Comparable<E>> implements MyList<E> {
+	private static final int CHUNK_SIZE = 64;
+	
+	private Chunk first, last;
+	private int size;
+	private Chunk cacheChunk; //the last chunk chunkAt() walked to, or null if nothing is cached
+	private int cacheStart; //index in the list of cacheChunk's first element
+	private int modCount; //goes up every time an element is added or removed, so iterators can tell the list changed under them
+	
+	/** A node of the list. elements[0..count - 1] are in use, the rest are null
+	*/
+	private static class Chunk {
+		public Object[] elements;
+		public int count;
+		public Chunk next, previous;
+		
+		public Chunk() {
+			elements = new Object[CHUNK_SIZE];
+			count = 0;
+		}
+	}
+	
+	/** Constructor for this class.
+	*   Running time: O(1)
+	*/
+	public UnrolledLinkedList() {
+		clear();
+	}
+	
+	@SuppressWarnings("unchecked")
+	private E elementAt(Chunk c, int offset) {
+		return (E) c.elements[offset];
+	}
+	
+	/** Returns the chunk the element at index is in, which has to be in bounds, and leaves it and where it
+	*   starts in cacheChunk and cacheStart. Starts from the front, the back, or the cached chunk, whichever
+	*   starts closest to index.
+	*   Running time: O(number of chunks walked past), which is at most O(n / CHUNK_SIZE)
+	*/
+	private Chunk chunkAt(int index) {
+		Chunk c = first;
+		int start = 0;
+		if (size - index < index) {
+			c = last;
+			start = size - last.count;
+		}
+		if (cacheChunk != null && Math.abs(cacheStart - index) < Math.abs(start - index)) {
+			c = cacheChunk;
+			start = cacheStart;
+		}
+		while (index >= start + c.count) {
+			start += c.count;
+			c = c.next;
+		}
+		while (index < start) {
+			c = c.previous;
+			start -= c.count;
+		}
+		cacheChunk = c;
+		cacheStart = start;
+		return c;
+	}
+	
+	//Puts a new, empty chunk into the chain right after c, or at the front if c is null
+	private Chunk linkAfter(Chunk c) {
+		Chunk added = new Chunk();
+		added.previous = c;
+		added.next = c == null ? first : c.next;
+		if (added.next != null) {
+			added.next.previous = added;
+		} else {
+			last = added;
+		}
+		if (c != null) {
+			c.next = added;
+		} else {
+			first = added;
+		}
+		return added;
+	}
+	
+	//Takes c out of the chain. Doesn't fix the finger, the caller has to
+	private void unlinkChunk(Chunk c) {
+		if (c.previous != null) {
+			c.previous.next = c.next;
+		} else {
+			first = c.next;
+		}
+		if (c.next != null) {
+			c.next.previous = c.previous;
+		} else {
+			last = c.previous;
+		}
+	}
+	
+	/** Appends data to the end of the list, starting a new chunk if the last one is full.
+	*   Running time: O(1)
+	*   @param data the data to insert
+	*/
+	public void add(E data) {
+		if (last == null || last.count == CHUNK_SIZE) {
+			linkAfter(last);
+		}
+		last.elements[last.count++] = data;
+		size++;
+		modCount++;
+	}
+	
+	/** Inserts data at the given index. Only the elements after it in its own chunk move over, and if the
+	*   chunk is full it splits in two first. Like DoublyLinkedList, index can be size, which appends.
+	*   Running time: O(CHUNK_SIZE) once the spot is found. Finding it is O(1) at either end or near the
+	*   last index used, otherwise O(n / CHUNK_SIZE)
+	*   @param index the location in the list to add the data
+	*   @param data the data to insert
+	*   @exception IndexOutOfBoundsException if index < 0 or index > size of list
+	*/
+	public void add(int index, E data) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Error: Index must be between 0 and size of list");
+		}
+		if (index == size) {
+			add(data);
+			return;
+		}
+		Chunk c = chunkAt(index);
+		int offset = index - cacheStart;
+		if (c.count == CHUNK_SIZE) {
+			//move the back half into a new chunk after this one
+			Chunk back = linkAfter(c);
+			int half = CHUNK_SIZE / 2;
+			System.arraycopy(c.elements, half, back.elements, 0, CHUNK_SIZE - half);
+			Arrays.fill(c.elements, half, CHUNK_SIZE, null);
+			back.count = CHUNK_SIZE - half;
+			c.count = half;
+			if (offset > half) {
+				offset -= half;
+				c = back;
+				cacheChunk = back;
+				cacheStart += half;
+			}
+		}
+		System.arraycopy(c.elements, offset, c.elements, offset + 1, c.count - offset);
+		c.elements[offset] = data;
+		c.count++;
+		size++;
+		modCount++;
+	}
+	
+	/** Assuming that the list is already sorted, inserts data so that it stays sorted. It goes in the same
+	*   spot DoublyLinkedList.addSorted would put it: before the first element that isn't smaller, but after
+	*   the first element if it's equal to it. The search skips over whole chunks whose last element is
+	*   smaller, then does a binary search in the chunk the spot is in.
+	*   Running time: O(n / CHUNK_SIZE + CHUNK_SIZE)
+	*   @param data the data to be inserted into the list
+	*/
+	public void addSorted(E data) {
+		if (isEmpty() || data.compareTo(elementAt(first, 0)) < 0) {
+			add(0, data);
+			return;
+		}
+		Chunk c = first;
+		int start = 0;
+		while (c.next != null && elementAt(c, c.count - 1).compareTo(data) < 0) {
+			start += c.count;
+			c = c.next;
+		}
+		int low = c == first ? 1 : 0, high = c.count;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (elementAt(c, middle).compareTo(data) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		cacheChunk = c; //so add() doesn't have to walk here again
+		cacheStart = start;
+		add(start + low, data);
+	}
+	
+	/** Set the element at a given index to data
+	*   Running time: O(1) near the last index used, otherwise O(n / CHUNK_SIZE)
+	*   @param index the location in the list of the element to change
+	*   @param data the new data value
+	*   @exception IndexOutOfBoundsException if index < 0 || index >= size()
+	*/
+	public void set(int index, E data) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Error: Index must be between 0 and length of list");
+		}
+		Chunk c = chunkAt(index);
+		c.elements[index - cacheStart] = data;
+	}
+	
+	/** Removes the element at offset in chunk c, which starts at index start, then makes sure c is still at
+	*   least half full (unless it's the last chunk) by borrowing an element from the next chunk, or merging
+	*   the next chunk into it if that one can't spare any. A chunk that ends up empty is dropped.
+	*   Running time: O(CHUNK_SIZE)
+	*/
+	private void removeFrom(Chunk c, int start, int offset) {
+		System.arraycopy(c.elements, offset + 1, c.elements, offset, c.count - offset - 1);
+		c.elements[--c.count] = null; //so the garbage collector can have it
+		size--;
+		modCount++;
+		if (c.count == 0) {
+			unlinkChunk(c);
+			cacheChunk = null; //whatever was cached might be after c, and start one sooner now
+			return;
+		}
+		Chunk next = c.next;
+		if (c.count < CHUNK_SIZE / 2 && next != null) {
+			if (next.count > CHUNK_SIZE / 2) {
+				c.elements[c.count++] = next.elements[0];
+				System.arraycopy(next.elements, 1, next.elements, 0, next.count - 1);
+				next.elements[--next.count] = null;
+			} else {
+				System.arraycopy(next.elements, 0, c.elements, c.count, next.count);
+				c.count += next.count;
+				unlinkChunk(next);
+			}
+		}
+		cacheChunk = c;
+		cacheStart = start;
+	}
+	
+	/** Removes the given value from the list if it is in the list. Does nothing otherwise. The element is
+	*   removed right where it's found, instead of finding its index and walking back to it.
+	*   Running time: O(n)
+	*   @param value the element to be removed
+	*/
+	public void remove(E value) {
+		int start = 0;
+		for (Chunk c = first; c != null; c = c.next) {
+			for (int i = 0; i < c.count; i++) {
+				if (c.elements[i].equals(value)) {
+					removeFrom(c, start, i);
+					return;
+				}
+			}
+			start += c.count;
+		}
+	}
+	
+	/** Removes every element the filter says yes to. The elements that stay are packed toward the front
+	*   as we go, filling each chunk all the way, and the chunks left over at the end are dropped. So each
+	*   element moves at most once, and the list comes out as compact as it can be, even if nothing was
+	*   removed. The filter sees every element before anything moves, so if it throws, the list is left
+	*   the way it was.
+	*   Running time: O(n)
+	*   @param filter says which elements to remove
+	*   @return true if anything was removed
+	*/
+	public boolean removeIf(Predicate<? super E> filter) {
+		BitSet doomed = new BitSet(size);
+		int index = 0;
+		for (Chunk c = first; c != null; c = c.next) {
+			for (int i = 0; i < c.count; i++, index++) {
+				if (filter.test(elementAt(c, i))) {
+					doomed.set(index);
+				}
+			}
+		}
+		Chunk to = first;
+		int kept = 0, written = 0; //written is how many elements are in to so far
+		index = 0;
+		for (Chunk from = first; from != null; from = from.next) {
+			for (int i = 0; i < from.count; i++, index++) {
+				E element = elementAt(from, i);
+				if (!doomed.get(index)) {
+					if (written == CHUNK_SIZE) {
+						to.count = written;
+						to = to.next;
+						written = 0;
+					}
+					to.elements[written++] = element;
+					kept++;
+				}
+			}
+		}
+		//even if nothing was removed, elements may have been packed into earlier chunks, so the counts and
+		//the end of the chain always have to be fixed
+		boolean removed = kept < size;
+		if (kept == 0) {
+			clear();
+		} else {
+			Arrays.fill(to.elements, written, CHUNK_SIZE, null);
+			to.count = written;
+			to.next = null; //let the rest of the chunks go
+			last = to;
+			size = kept;
+			cacheChunk = null;
+			modCount++;
+		}
+		return removed;
+	}
+	
+	/** Removes the element at the given index.
+	*   Running time: O(CHUNK_SIZE) once the element is found. Finding it is O(1) at either end or near the
+	*   last index used, otherwise O(n / CHUNK_SIZE)
+	*   @param index of element to remove
+	*   @exception IndexOutOfBoundsException if index < 0 || index >= size()
+	*/
+	public void removeAt(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Error: Can only remove between 0 and length of list");
+		}
+		Chunk c = chunkAt(index);
+		removeFrom(c, cacheStart, index - cacheStart);
+	}
+	
+	/** Running time: O(1)
+	*   @return the size of this list
+	*/
+	public int size() {
+		return size;
+	}
+	
+	/** Running time: O(1) at either end or near the last index used, otherwise O(n / CHUNK_SIZE), so
+	*   walking the list with get(0), get(1), ... is O(n) in total
+	*   @param index the index of the element you want
+	*   @return that element
+	*   @exception IndexOutOfBoundsException if index < 0 || index >= size()
+	*/
+	public E get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Error: Index must be between 0 and length of list");
+		}
+		Chunk c = chunkAt(index);
+		return elementAt(c, index - cacheStart);
+	}
+	
+	/** Running time: O(n)
+	*   @param data the element to be searched for
+	*   @return the index of data if it's in the list, -1 otherwise
+	*/
+	public int indexOf(E data) {
+		int start = 0;
+		for (Chunk c = first; c != null; c = c.next) {
+			for (int i = 0; i < c.count; i++) {
+				if (c.elements[i].equals(data)) {
+					return start + i;
+				}
+			}
+			start += c.count;
+		}
+		return -1;
+	}
+	
+	/** Running time: O(n)
+	*   @param data the element to search for
+	*   @return true if that element is in the list
+	*/
+	public boolean contains(E data) {
+		return indexOf(data) != -1;
+	}
+	
+	/** Gives a string representation of this list of the form [e1, e2, ... eN], like DoublyLinkedList.
+	*   Running time: See DoublyLinkedList.toString()
+	*   @return A string representation of this list
+	*/
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for (Chunk c = first; c != null; c = c.next) {
+			for (int i = 0; i < c.count; i++) {
+				if (sb.length() > 1) {
+					sb.append(", ");
+				}
+				sb.append(c.elements[i]);
+			}
+		}
+		return sb.append("]").toString();
+	}
+	
+	/** Running time: O(1)
+	*   @return true if list is empty, false otherwise
+	*/
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/** Empties the list
+	*   Running time: O(1)
+	*/
+	public void clear() {
+		first = null;
+		last = null;
+		size = 0;
+		cacheChunk = null;
+		cacheStart = 0;
+		modCount++;
+	}
+	
+	/** Returns an iterator over this list. It throws ConcurrentModificationException if the list is
+	*   changed by anything other than its own remove() while it's in use.
+	*   Running time: O(1)
+	*   @return Iterator<E> over the list
+	*/
+	public Iterator<E> iterator() {
+		return new ULLIterator();
+	}
+	
+	/** Returns an endless iterator over this list, see DoublyLinkedList.endlessIterator()
+	*   Running time: O(1)
+	*   @return a MyIterator<E> over this list
+	*/
+	public MyIterator<E> endlessIterator() {
+		return new EndlessIterator();
+	}
+	
+	private class ULLIterator implements Iterator<E> {
+		private Chunk chunk; //chunk the next element is in, or null if it has to be looked up again
+		private int offset; //where in chunk the next element is
+		private int next; //index of the element next() returns
+		private boolean removeOK;
+		private int expectedModCount;
+		
+		public ULLIterator() {
+			chunk = first;
+			offset = 0;
+			next = 0;
+			removeOK = false;
+			expectedModCount = modCount;
+		}
+		
+		public boolean hasNext() {
+			return next < size;
+		}
+		
+		public E next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			if (chunk == null) {
+				chunk = chunkAt(next);
+				offset = next - cacheStart;
+			} else if (offset == chunk.count) {
+				chunk = chunk.next;
+				offset = 0;
+			}
+			removeOK = true;
+			next++;
+			return elementAt(chunk, offset++);
+		}
+		
+		/** Removes the element next() returned last. Removing can move elements between chunks, so the
+		*   iterator finds its spot again on the next call to next(), which is quick since the list's finger
+		*   is right there.
+		*   Running time: O(CHUNK_SIZE)
+		*   @exception IllegalStateException if next() hasn't been called since the last remove
+		*/
+		public void remove() {
+			if (!removeOK) {
+				throw new IllegalStateException();
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeOK = false;
+			removeFrom(chunk, next - offset, offset - 1);
+			next--;
+			chunk = null;
+			expectedModCount = modCount;
+		}
+	}
+	
+	/** An endless iterator is one that allows a client to keep calling next() as long as the list is not
+	*   empty. next() gives back the current element, and advance() moves forward or back, wrapping around
+	*   at the ends. It goes by index, so it shouldn't be used across adds and removes.
+	*/
+	private class EndlessIterator implements MyIterator<E> {
+		private int current;
+		
+		public EndlessIterator() {
+			current = 0;
+		}
+		
+		public boolean hasNext() {
+			return !isEmpty();
+		}
+		
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return get(current % size);
+		}
+		
+		public void advance(boolean direction) {
+			if (isEmpty()) {
+				return;
+			}
+			current = direction ? (current + 1) % size : (current + size - 1) % size;
+		}
+	}
+}